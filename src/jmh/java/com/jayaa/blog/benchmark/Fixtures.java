@@ -0,0 +1,103 @@
+package com.jayaa.blog.benchmark;
+
+import com.jayaa.blog.model.*;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic inputs shared by the benchmarks: entities shaped like real
+ * rows (author, category, tags, multi-paragraph content) and title samples.
+ */
+public final class Fixtures {
+
+    public static final List<String> TITLES = List.of(
+            "Getting Started with Spring Boot 3",
+            "Why Virtual Threads Change Everything for Blocking I/O",
+            "Café Crème: Über-Simple Résumé Tips",
+            "10 Things I Learned Building a REST API in Java 21",
+            "Ünïcödé   slugs --- and other   edge cases!!"
+    );
+
+    private static final String[] WORDS = {
+            "spring", "boot", "article", "performance", "latency", "throughput", "cache",
+            "database", "index", "query", "thread", "request", "response", "the", "and",
+            "with", "for", "blog", "java", "hibernate", "token", "séance", "naïve"
+    };
+
+    private Fixtures() {
+    }
+
+    public static String content(int chars, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(chars + 16);
+        int wordsInParagraph = 0;
+        while (sb.length() < chars) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            if (++wordsInParagraph == 80) {
+                sb.append(".\n\n");
+                wordsInParagraph = 0;
+            } else {
+                sb.append(' ');
+            }
+        }
+        return sb.substring(0, chars);
+    }
+
+    public static User author() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("jdoe");
+        user.setEmail("jdoe@example.com");
+        user.setFullName("Jane Doe");
+        user.setRole("AUTHOR");
+        return user;
+    }
+
+    public static Article article(long id, int tagCount, int contentChars) {
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Engineering");
+        category.setSlug("engineering");
+
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i + 1);
+            tag.setName("Tag " + (i + 1));
+            tag.setSlug("tag-" + (i + 1));
+            tags.add(tag);
+        }
+
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(TITLES.get((int) (id % TITLES.size())));
+        article.setSlug("article-" + id);
+        article.setContent(content(contentChars, id));
+        article.setExcerpt(content(200, id + 1));
+        article.setFeaturedImage("b7e23ec29af22b0b4e41da31e868d57226121c84.jpg");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setViewCount(1234);
+        article.setCommentCount(17);
+        article.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 0));
+        article.setUpdatedAt(LocalDateTime.of(2025, 3, 2, 8, 30));
+        article.setAuthor(author());
+        article.setCategory(category);
+        article.setTags(tags);
+        return article;
+    }
+
+    // Stand-in for @Autowired when a bean is built by hand
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+}
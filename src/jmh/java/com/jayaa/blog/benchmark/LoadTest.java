@@ -0,0 +1,184 @@
+package com.jayaa.blog.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop HTTP load generator for comparing a running instance in
+ * platform-thread and virtual-thread mode. Each of {@code --concurrency}
+ * clients sends GETs back to back, round-robin over the {@code --url}s, for
+ * {@code --warmup} (discarded) and then {@code --duration}. Prints throughput,
+ * error count and latency percentiles, overall and per URL. Being closed-loop, it understates the
+ * tail once the server saturates (a stalled client stops sending), so compare
+ * runs at the same concurrency only.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark compile exec:exec@load-test \
+ *     -Dload.args="--url http://localhost:8080/api/articles --concurrency 200 --duration 30s"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<URI> urls = new ArrayList<>();
+        int concurrency = 64;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        String token = null;
+
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> urls.add(URI.create(value));
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--token" -> token = value;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (urls.isEmpty()) {
+            urls.add(URI.create("http://localhost:8080/api/articles"));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (URI url : urls) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            requests.add(builder.build());
+        }
+
+        System.out.printf("Warming up for %ss with %d clients...%n", warmup.toSeconds(), concurrency);
+        run(client, requests, concurrency, warmup);
+
+        System.out.printf("Measuring for %ss...%n", duration.toSeconds());
+        Result[] results = run(client, requests, concurrency, duration);
+        Result total = new Result();
+        for (int i = 0; i < results.length; i++) {
+            System.out.println(urls.get(i));
+            results[i].print(duration);
+            total.merge(results[i]);
+        }
+        System.out.println("TOTAL");
+        total.print(duration);
+    }
+
+    // One Result per request, in the order of the --url options
+    private static Result[] run(
+            HttpClient client, List<HttpRequest> requests, int concurrency, Duration duration
+    ) throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Result[]>> workers = new ArrayList<>(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int offset = w;
+                workers.add(executor.submit(() -> {
+                    Result[] local = newResults(requests.size());
+                    for (int n = offset; !stop.get(); n++) {
+                        int index = n % requests.size();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response =
+                                    client.send(requests.get(index), HttpResponse.BodyHandlers.ofByteArray());
+                            local[index].record(System.nanoTime() - start, response.statusCode() >= 400);
+                        } catch (IOException ex) {
+                            local[index].record(System.nanoTime() - start, true);
+                        }
+                    }
+                    return local;
+                }));
+            }
+            Thread.sleep(duration.toMillis());
+            stop.set(true);
+        }
+
+        Result[] totals = newResults(requests.size());
+        for (Future<Result[]> worker : workers) {
+            Result[] local = worker.get();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i].merge(local[i]);
+            }
+        }
+        return totals;
+    }
+
+    private static Result[] newResults(int size) {
+        Result[] results = new Result[size];
+        for (int i = 0; i < size; i++) {
+            results[i] = new Result();
+        }
+        return results;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        void print(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("  %d requests (%d errors), %.1f req/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                    count, errors, count / (duration.toMillis() / 1000.0),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
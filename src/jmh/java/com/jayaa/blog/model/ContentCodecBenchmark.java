@@ -0,0 +1,57 @@
+package com.jayaa.blog.model;
+
+import com.jayaa.blog.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What storing article bodies compressed costs per write and per read,
+ * against the plain UTF-8 bytes a TEXT column takes. The size reduction is
+ * printed once per trial. Fixtures content draws on a small vocabulary, so it
+ * compresses better than real prose does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentCodecBenchmark {
+
+    @Param({"2000", "20000", "60000"})
+    private int contentChars;
+
+    private String content;
+    private byte[] plain;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() {
+        content = Fixtures.content(contentChars, 1L);
+        plain = content.getBytes(StandardCharsets.UTF_8);
+        compressed = ContentCodec.deflate(plain);
+        System.out.printf("%n%d chars: %d bytes plain, %d bytes compressed (%.0f%% smaller)%n",
+                contentChars, plain.length, compressed.length, 100.0 * (plain.length - compressed.length) / plain.length);
+    }
+
+    @Benchmark
+    public byte[] writePlain() {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeCompressed() {
+        return ContentCodec.deflate(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return ContentCodec.NONE.decode(new String(plain, StandardCharsets.UTF_8), null);
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return ContentCodec.DEFLATE.decode("", compressed);
+    }
+}
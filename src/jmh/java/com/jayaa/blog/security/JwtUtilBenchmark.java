@@ -0,0 +1,47 @@
+package com.jayaa.blog.security;
+
+import com.jayaa.blog.benchmark.Fixtures;
+import com.jayaa.blog.model.User;
+import org.openjdk.jmh.annotations.*;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTMustBeAtLeast32CharactersLong";
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, 10_000);
+        user = Fixtures.author();
+        token = jwtUtil.generateToken(user);
+        jwtUtil.verify(token); // warm the verified-token cache
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    // Every authenticated request before the cache: HMAC + JSON parse
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyUncached() {
+        return jwtUtil.parse(token);
+    }
+
+    // Repeat request within a session: digest + cache lookup
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyCached() {
+        return jwtUtil.verify(token);
+    }
+}
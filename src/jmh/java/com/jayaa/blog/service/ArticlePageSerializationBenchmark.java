@@ -0,0 +1,79 @@
+package com.jayaa.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayaa.blog.benchmark.Fixtures;
+import com.jayaa.blog.cache.ArticleBodyStore;
+import com.jayaa.blog.cache.ArticleJsonCache;
+import com.jayaa.blog.dto.ArticleJson;
+import com.jayaa.blog.dto.ArticleResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of full article responses, with the same
+ * ObjectMapper defaults Spring Boot applies (java.time as ISO strings):
+ * from the DTOs every time, and spliced from ArticleJsonCache fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticlePageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"2000", "20000"})
+    private int contentChars;
+
+    private ObjectMapper objectMapper;
+    private Page<ArticleResponse> page;
+    private Page<ArticleJson> fragmentPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        ArticleService articleService = new ArticleService();
+        Fixtures.inject(articleService, "viewCountService", new ViewCountService());
+
+        List<ArticleResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(articleService.convertToResponse(Fixtures.article(i + 1, 5, contentChars)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+
+        ArticleJsonCache cache = new ArticleJsonCache(objectMapper, DataSize.ofMegabytes(64));
+        ArticleBodyStore bodies = new ArticleBodyStore(DataSize.ofMegabytes(64), DataSize.ofKilobytes(4));
+        List<ArticleJson> fragments = new ArrayList<>(pageSize);
+        for (ArticleResponse response : content) {
+            response.setEtag("W/\"" + response.getId() + "\"");
+            Long id = response.getId();
+            String digest = bodies.store(id, response.getUpdatedAt(), ArticleBodyStore.encode(response.getContent()));
+            fragments.add(new ArticleJson(
+                    id, cache.getDetail(response), response.getViewCount(), null,
+                    out -> bodies.writeTo(id, digest, out)));
+        }
+        fragmentPage = new PageImpl<>(fragments, PageRequest.of(0, pageSize), 1_000);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePageFromFragments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fragmentPage);
+    }
+}
@@ -0,0 +1,37 @@
+package com.jayaa.blog.service;
+
+import com.jayaa.blog.benchmark.Fixtures;
+import com.jayaa.blog.dto.ArticleResponse;
+import com.jayaa.blog.model.Article;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleServiceBenchmark {
+
+    @Param({"0", "5", "20"})
+    private int tagCount;
+
+    @Param({"2000", "20000"})
+    private int contentChars;
+
+    private ArticleService articleService;
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        articleService = new ArticleService();
+        Fixtures.inject(articleService, "viewCountService", new ViewCountService());
+        article = Fixtures.article(1L, tagCount, contentChars);
+    }
+
+    @Benchmark
+    public ArticleResponse convertToResponse() {
+        return articleService.convertToResponse(article);
+    }
+}
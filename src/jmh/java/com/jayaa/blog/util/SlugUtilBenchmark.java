@@ -0,0 +1,32 @@
+package com.jayaa.blog.util;
+
+import com.jayaa.blog.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlugUtilBenchmark {
+
+    private final SlugUtil slugUtil = new SlugUtil();
+
+    // Index into Fixtures.TITLES: plain ASCII, long, accented, digits, messy punctuation
+    @Param({"0", "1", "2", "3", "4"})
+    private int titleIndex;
+
+    private String title;
+
+    @Setup
+    public void setUp() {
+        title = Fixtures.TITLES.get(titleIndex);
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        return slugUtil.generateSlug(title);
+    }
+}
@@ -0,0 +1,356 @@
+package com.jayaa.blog.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Article bodies kept outside the Java heap, so a large working set of
+ * popular articles costs no old-generation space and no GC time. Bodies are
+ * stored as ready-to-splice JSON string values (quoted and escaped UTF-8) in
+ * fixed-size blocks carved out of direct-buffer slabs; slabs are allocated
+ * on first use up to {@code app.cache.article-body.max-size} and never
+ * returned, freed blocks go back on a free list. The size is capped at half
+ * of {@code -XX:MaxDirectMemorySize} (which defaults to {@code -Xmx}), and a
+ * slab that can't be allocated leaves the store at the slabs it already has.
+ * Only the index (id, version, block numbers) lives on the heap. Least recently used bodies are
+ * evicted when blocks run out; a body being streamed to a client is pinned
+ * and its blocks are only reused once the write is done.
+ * Entries are keyed by article id and version (updated_at) and dropped after
+ * commit of any change to the article.
+ */
+@Component
+public class ArticleBodyStore implements MeterBinder {
+
+    private static final int SLAB_SIZE = 16 * 1024 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleBodyStore.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // The rest of the direct memory limit is left to NIO, Tomcat and the JDBC driver
+    private static final int DIRECT_MEMORY_SHARE = 2;
+
+    // A single body may take at most this share of the store; larger ones are read from the database
+    private static final int MAX_BODY_SHARE = 8;
+
+    private static final class Body {
+        final Object version;
+        final int length;
+        final int[] blocks;
+        final String digest;
+        int pins = 1; // the index holds one
+        boolean removed;
+
+        Body(Object version, int length, int[] blocks, String digest) {
+            this.version = version;
+            this.length = length;
+            this.blocks = blocks;
+            this.digest = digest;
+        }
+    }
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int totalBlocks;
+    // Read without the lock on the copy paths, so slabs are published through the array
+    private final AtomicReferenceArray<ByteBuffer> slabs;
+
+    // All state below is guarded by this
+    private final int[] freeBlocks;
+    private int freeCount;
+    private int capacity; // totalBlocks until a slab can't be allocated
+    private int nextUnusedBlock;
+    private final LinkedHashMap<Long, Body> index = new LinkedHashMap<>(1024, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ArticleBodyStore(
+            @Value("${app.cache.article-body.max-size:256MB}") DataSize maxSize,
+            @Value("${app.cache.article-body.block-size:4KB}") DataSize blockSize
+    ) {
+        long limit = directMemoryLimit();
+        if (maxSize.toBytes() > limit / DIRECT_MEMORY_SHARE) {
+            log.warn("app.cache.article-body.max-size {} MB exceeds half the direct memory limit of {} MB; "
+                            + "capping it, raise -XX:MaxDirectMemorySize to keep the configured size",
+                    maxSize.toMegabytes(), limit / (1024 * 1024));
+            maxSize = DataSize.ofBytes(limit / DIRECT_MEMORY_SHARE);
+        }
+        this.blockSize = (int) blockSize.toBytes();
+        this.blocksPerSlab = Math.max(1, SLAB_SIZE / this.blockSize);
+        this.totalBlocks = (int) Math.max(1, maxSize.toBytes() / this.blockSize);
+        this.slabs = new AtomicReferenceArray<>((totalBlocks + blocksPerSlab - 1) / blocksPerSlab);
+        this.freeBlocks = new int[totalBlocks];
+        this.capacity = totalBlocks;
+    }
+
+    // Digest of the stored body when it is present at this version, otherwise null
+    public synchronized String digest(Long articleId, Object version) {
+        Body body = index.get(articleId);
+        return body != null && Objects.equals(body.version, version) ? body.digest : null;
+    }
+
+    /**
+     * Stores a body encoded by {@link #encode} and returns its digest. The
+     * digest is returned even when the body could not be kept (too large, or
+     * every block pinned by slow readers).
+     */
+    public String store(Long articleId, Object version, byte[] json) {
+        String digest = DigestUtils.md5DigestAsHex(json);
+        int needed = Math.max(1, (json.length + blockSize - 1) / blockSize);
+        if (needed > totalBlocks / MAX_BODY_SHARE) {
+            return digest;
+        }
+
+        int[] blocks = reserve(articleId, needed);
+        if (blocks == null) {
+            return digest;
+        }
+
+        // Reserved blocks belong to nobody else, so the copy needs no lock
+        for (int i = 0; i < blocks.length; i++) {
+            ByteBuffer slab = slab(blocks[i]);
+            if (slab == null) {
+                release(blocks);
+                return digest;
+            }
+            int offset = i * blockSize;
+            slab.put(offsetOf(blocks[i]), json, offset, Math.min(blockSize, json.length - offset));
+        }
+
+        Body body = new Body(version, json.length, blocks, digest);
+        synchronized (this) {
+            Body previous = index.put(articleId, body);
+            if (previous != null) {
+                remove(previous);
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Streams the body with this digest to {@code out}, if it is still stored.
+     * Returns false on a miss; the caller then falls back to the database.
+     */
+    public boolean writeTo(Long articleId, String digest, OutputStream out) throws IOException {
+        Body body;
+        synchronized (this) {
+            body = index.get(articleId);
+            if (body == null || !body.digest.equals(digest)) {
+                misses++;
+                return false;
+            }
+            hits++;
+            body.pins++;
+        }
+
+        try {
+            // One block-sized heap buffer per write; the bodies themselves never come on-heap
+            byte[] chunk = new byte[Math.min(blockSize, body.length)];
+            int remaining = body.length;
+            for (int block : body.blocks) {
+                int length = Math.min(blockSize, remaining);
+                slab(block).get(offsetOf(block), chunk, 0, length);
+                out.write(chunk, 0, length);
+                remaining -= length;
+            }
+        } finally {
+            synchronized (this) {
+                unpin(body);
+            }
+        }
+        return true;
+    }
+
+    public synchronized void invalidate(Long articleId) {
+        Body body = index.remove(articleId);
+        if (body != null) {
+            remove(body);
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.articleId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.cache.article-body.bytes", this, store -> store.usedBlocks() * (double) blockSize)
+                .description("Off-heap memory holding article bodies, in whole blocks")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("blog.cache.article-body.allocated", this, store -> store.allocatedSlabs() * (double) SLAB_SIZE)
+                .description("Direct memory allocated for the body store so far (never released)")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.size", this, ArticleBodyStore::size)
+                .tag("cache", "article-bodies")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, ArticleBodyStore::hits)
+                .tag("cache", "article-bodies").tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, ArticleBodyStore::misses)
+                .tag("cache", "article-bodies").tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, ArticleBodyStore::evictions)
+                .tag("cache", "article-bodies")
+                .register(registry);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized int usedBlocks() {
+        return nextUnusedBlock - freeCount;
+    }
+
+    private synchronized long hits() {
+        return hits;
+    }
+
+    private synchronized long misses() {
+        return misses;
+    }
+
+    private synchronized long evictions() {
+        return evictions;
+    }
+
+    private int allocatedSlabs() {
+        int allocated = 0;
+        for (int i = 0; i < slabs.length(); i++) {
+            if (slabs.get(i) != null) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    // Takes free blocks, then never-used ones, then evicts least recently used bodies
+    private synchronized int[] reserve(Long articleId, int needed) {
+        Body current = index.remove(articleId);
+        if (current != null) {
+            remove(current);
+        }
+
+        Iterator<Map.Entry<Long, Body>> eldest = index.entrySet().iterator();
+        while (freeCount + (capacity - nextUnusedBlock) < needed && eldest.hasNext()) {
+            Body body = eldest.next().getValue();
+            eldest.remove();
+            remove(body);
+            evictions++;
+        }
+        if (freeCount + (capacity - nextUnusedBlock) < needed) {
+            // The rest is pinned by readers still streaming
+            return null;
+        }
+
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            blocks[i] = freeCount > 0 ? freeBlocks[--freeCount] : nextUnusedBlock++;
+        }
+        return blocks;
+    }
+
+    private void remove(Body body) {
+        body.removed = true;
+        unpin(body);
+    }
+
+    private void unpin(Body body) {
+        if (--body.pins == 0 && body.removed) {
+            for (int block : body.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    // Hands reserved blocks back after a failed store; blocks of slabs that were never allocated are dropped
+    private synchronized void release(int[] blocks) {
+        for (int block : blocks) {
+            if (slabs.get(block / blocksPerSlab) != null) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    // Null when direct memory ran out; the store then stays at the slabs it already has
+    private ByteBuffer slab(int block) {
+        int slabIndex = block / blocksPerSlab;
+        ByteBuffer slab = slabs.get(slabIndex);
+        if (slab == null) {
+            // Allocated under the lock: a losing racer's slab would waste direct memory
+            synchronized (this) {
+                slab = slabs.get(slabIndex);
+                if (slab == null && slabIndex * blocksPerSlab < capacity) {
+                    int blocks = Math.min(blocksPerSlab, totalBlocks - slabIndex * blocksPerSlab);
+                    try {
+                        slab = ByteBuffer.allocateDirect(blocks * blockSize);
+                        slabs.set(slabIndex, slab);
+                    } catch (OutOfMemoryError ex) {
+                        capacity = slabIndex * blocksPerSlab;
+                        nextUnusedBlock = Math.min(nextUnusedBlock, capacity);
+                        log.warn("Direct memory exhausted, article body store capped at {} MB: {}",
+                                (long) capacity * blockSize / (1024 * 1024), ex.getMessage());
+                    }
+                }
+            }
+        }
+        return slab;
+    }
+
+    // -XX:MaxDirectMemorySize, which defaults to the maximum heap size
+    private static long directMemoryLimit() {
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        try {
+            HotSpotDiagnosticMXBean vm = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            long configured = Long.parseLong(vm.getVMOption("MaxDirectMemorySize").getValue());
+            return configured > 0 ? configured : maxHeap;
+        } catch (RuntimeException ex) {
+            return maxHeap;
+        }
+    }
+
+    private int offsetOf(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    // The JSON string value exactly as the response generator would write it, quotes included
+    public static byte[] encode(String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content == null ? 4 : content.length() + 16);
+        try (JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.writeString(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,156 @@
+package com.jayaa.blog.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jayaa.blog.dto.ArticleResponse;
+import com.jayaa.blog.dto.ArticleSummaryResponse;
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
+import com.jayaa.blog.repository.projection.ArticleSummaryView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Articles pre-encoded as UTF-8 JSON, so list and detail responses are
+ * assembled by copying bytes instead of running Jackson over the same DTOs
+ * on every request. Each fragment is the JSON object minus the view count
+ * (which changes on every read and is appended per request, see
+ * {@link com.jayaa.blog.dto.ArticleJson}), minus the article body (kept off
+ * the heap in {@link ArticleBodyStore}) and minus its closing brace.
+ * Entries are keyed by article id and carry the version they were encoded
+ * from; a fragment whose version no longer matches is re-encoded. The cache
+ * is bounded by total bytes, not entries (one detail with a long body
+ * weighs as much as hundreds of summaries), and dropped after commit of any
+ * change to the article or, all of it, to a category or tag.
+ * Hit/miss/eviction counters are published as {@code cache.*{cache="article-json"}}.
+ */
+@Component
+public class ArticleJsonCache implements MeterBinder {
+
+    // Key, entry and array headers, so that tiny fragments aren't free
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private enum Kind { SUMMARY, DETAIL }
+
+    private record Key(Long articleId, Kind kind) {
+    }
+
+    private record Entry(Object version, JsonFragment json) {
+    }
+
+    // Everything a summary row shows that can change without a new updated_at (bulk counter and variant updates)
+    private record SummaryVersion(LocalDateTime updatedAt, Integer commentCount, String featuredImageVariants) {
+    }
+
+    @JsonIgnoreProperties("viewCount")
+    private abstract static class WithoutViewCount {
+    }
+
+    // The body is streamed from ArticleBodyStore instead, so it never sits on the heap twice
+    @JsonIgnoreProperties({"viewCount", "content"})
+    private abstract static class WithoutViewCountOrContent {
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final ObjectWriter writer;
+
+    public ArticleJsonCache(
+            ObjectMapper objectMapper,
+            @Value("${app.cache.article-json.max-size:64MB}") DataSize maxSize
+    ) {
+        // Same settings as the HTTP responses (dates, inclusion), minus the per-request view count
+        this.writer = objectMapper.copy()
+                .addMixIn(ArticleResponse.class, WithoutViewCountOrContent.class)
+                .addMixIn(ArticleSummaryResponse.class, WithoutViewCount.class)
+                .writer();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.json().byteLength() + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+    }
+
+    // Null when the row has not been encoded yet or has changed since
+    public JsonFragment getSummary(ArticleSummaryView row) {
+        Entry entry = cache.getIfPresent(new Key(row.getId(), Kind.SUMMARY));
+        return entry != null && entry.version().equals(summaryVersion(row)) ? entry.json() : null;
+    }
+
+    public JsonFragment putSummary(ArticleSummaryView row, ArticleSummaryResponse summary) {
+        JsonFragment json = encode(summary);
+        cache.put(new Key(row.getId(), Kind.SUMMARY), new Entry(summaryVersion(row), json));
+        return json;
+    }
+
+    // Cached responses carry their ETag, which already covers everything but the view count
+    public JsonFragment getDetail(ArticleResponse response) {
+        Key key = new Key(response.getId(), Kind.DETAIL);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.version(), response.getEtag())) {
+            return entry.json();
+        }
+        JsonFragment json = encode(response);
+        cache.put(key, new Entry(response.getEtag(), json));
+        return json;
+    }
+
+    public void invalidateById(Long articleId) {
+        cache.invalidate(new Key(articleId, Kind.SUMMARY));
+        cache.invalidate(new Key(articleId, Kind.DETAIL));
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "article-json");
+        Gauge.builder("blog.cache.article-json.bytes", this, ArticleJsonCache::weightedSize)
+                .description("Encoded article JSON held in memory, including per-entry overhead")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidateById(event.articleId());
+    }
+
+    // Fragments embed category and tag names
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private JsonFragment encode(Object value) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode " + value.getClass().getSimpleName(), ex);
+        }
+        // Drop the closing brace; ArticleJson appends the view count and closes the object
+        return new JsonFragment(Arrays.copyOf(json, json.length - 1));
+    }
+
+    private static SummaryVersion summaryVersion(ArticleSummaryView row) {
+        return new SummaryVersion(row.getUpdatedAt(), row.getCommentCount(), row.getFeaturedImageVariants());
+    }
+}
@@ -0,0 +1,135 @@
+package com.jayaa.blog.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jayaa.blog.dto.ArticleResponse;
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
+import com.jayaa.blog.event.ViewCountsFlushedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link ArticleResponse} by slug (Caffeine, bounded size,
+ * TTL, W-TinyLFU eviction). Concurrent misses for the same slug share a single
+ * load: the first caller runs the loader on its own thread and the others wait
+ * on its future. Entries are dropped after commit of any change to the article
+ * or its comments, when buffered view counts for it are flushed, and (all of
+ * them) when a category or tag changes.
+ * Hit/miss/eviction counters are published as {@code cache.*{cache="articles"}}.
+ */
+@Component
+public class ArticleResponseCache implements MeterBinder {
+
+    private final AsyncCache<String, ArticleResponse> cache;
+
+    // Lets id-based events (comments, view flushes) find the cached slug
+    private final Map<Long, String> slugsById = new ConcurrentHashMap<>();
+
+    public ArticleResponseCache(
+            @Value("${app.cache.article.max-size:10000}") long maxSize,
+            @Value("${app.cache.article.ttl:10m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, ArticleResponse>removalListener((slug, response, cause) -> {
+                    if (response != null) {
+                        slugsById.remove(response.getId(), slug);
+                    }
+                })
+                .buildAsync();
+    }
+
+    public ArticleResponse get(String slug, Function<String, ArticleResponse> loader) {
+        CompletableFuture<ArticleResponse> ours = new CompletableFuture<>();
+        CompletableFuture<ArticleResponse> future = cache.get(slug, (key, executor) -> ours);
+
+        if (future == ours) {
+            // We won the race: load on this thread (inside the caller's context)
+            try {
+                ArticleResponse loaded = loader.apply(slug);
+                slugsById.put(loaded.getId(), slug);
+                ours.complete(loaded);
+            } catch (Throwable ex) {
+                // Failed futures are discarded by Caffeine, so errors are never cached;
+                // the future must complete whatever is thrown or later readers block forever
+                ours.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void invalidate(String slug) {
+        cache.synchronous().invalidate(slug);
+    }
+
+    public void invalidateById(Long articleId) {
+        String slug = slugsById.get(articleId);
+        if (slug != null) {
+            invalidate(slug);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "articles");
+    }
+
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.slug() != null) {
+            invalidate(event.slug());
+        }
+        invalidateById(event.articleId());
+    }
+
+    // Responses embed category and tag names; reference data changes rarely, so drop everything
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        cache.synchronous().invalidateAll();
+    }
+
+    // Cached view counts are the persisted value at load time; reload after a flush moves it
+    @EventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        event.articleIds().forEach(this::invalidateById);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jayaa.blog.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Already-encoded UTF-8 JSON that Jackson copies to the output as is.
+ * Only the unquoted (raw) forms are meaningful: the bytes are JSON, not a
+ * string value, so the quoted forms are never asked for by
+ * {@code JsonGenerator.writeRawValue}/{@code writeRaw} and are unsupported.
+ */
+public final class JsonFragment implements SerializableString {
+
+    private final byte[] utf8;
+
+    public JsonFragment(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    public int byteLength() {
+        return utf8.length;
+    }
+
+    // Only used by generators that don't write UTF-8 bytes (e.g. a Writer target)
+    @Override
+    public String getValue() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return utf8;
+    }
+
+    // -1 tells the generator the buffer is too small; it then writes asUnquotedUTF8() directly
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        if (offset + utf8.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+        return utf8.length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        String value = getValue();
+        if (offset + value.length() > buffer.length) {
+            return -1;
+        }
+        value.getChars(0, value.length(), buffer, offset);
+        return value.length();
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        if (buffer.remaining() < utf8.length) {
+            return -1;
+        }
+        buffer.put(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        throw new UnsupportedOperationException("Raw JSON is never quoted");
+    }
+}
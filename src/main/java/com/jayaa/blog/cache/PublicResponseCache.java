@@ -0,0 +1,149 @@
+package com.jayaa.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
+import com.jayaa.blog.event.ViewCountsFlushedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Complete responses of the public read endpoints, stored once per URL with
+ * their body both as is and gzip-compressed, see {@link PublicResponseCacheFilter}.
+ * Bounded by total bytes. Everything is dropped after commit of any article,
+ * category or tag change (article counts and names appear in all of them),
+ * after the caches these responses are rendered from. A view count flush
+ * only drops the detail responses of the flushed articles; list pages show
+ * view counts that lag by up to the TTL.
+ * Hit/miss/eviction counters are published as {@code cache.*{cache="public-responses"}}.
+ */
+@Component
+public class PublicResponseCache implements MeterBinder {
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    /**
+     * @param gzip          null when compression didn't pay off (tiny bodies)
+     * @param headers       representation headers to replay (Content-Type, ETag, Last-Modified, Cache-Control)
+     * @param pattern       handler mapping pattern, so metrics of a hit are tagged like those of a miss
+     * @param viewedArticle article whose view a hit has to count, or null
+     */
+    public record Entry(
+            byte[] identity,
+            byte[] gzip,
+            Map<String, String> headers,
+            String pattern,
+            Long viewedArticle
+    ) {
+        int weight() {
+            return identity.length + (gzip != null ? gzip.length : 0) + ENTRY_OVERHEAD;
+        }
+    }
+
+    public enum Group { ARTICLES, REFERENCE_DATA }
+
+    private record Key(Group group, String url) {
+    }
+
+    // Listeners of the caches responses are rendered from use this order, so they are cleared first
+    public static final int UNDERLYING_CACHE_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final Cache<Key, Entry> cache;
+
+    // Ticks on every invalidation and view count flush; a response rendered across one that affects it is not stored
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long invalidatedAt;
+    private final ConcurrentHashMap<Long, Long> viewsFlushedAt = new ConcurrentHashMap<>();
+
+    public PublicResponseCache(
+            @Value("${app.cache.public-responses.max-size:32MB}") DataSize maxSize,
+            @Value("${app.cache.public-responses.ttl:10m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Entry get(Group group, String url) {
+        return cache.getIfPresent(new Key(group, url));
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    // Stores only if nothing it shows was invalidated since the response started rendering
+    public void put(Group group, String url, Entry entry, long renderedAt) {
+        if (invalidatedAt > renderedAt) {
+            return;
+        }
+        if (entry.viewedArticle() != null && viewsFlushedAt.getOrDefault(entry.viewedArticle(), 0L) > renderedAt) {
+            return;
+        }
+        cache.put(new Key(group, url), entry);
+    }
+
+    public void invalidateAll() {
+        long now = generation.incrementAndGet();
+        invalidatedAt = now;
+        cache.invalidateAll();
+        viewsFlushedAt.values().removeIf(flushedAt -> flushedAt <= now);
+    }
+
+    // Detail responses of these articles; their view counts moved
+    public void invalidateViewed(Set<Long> articleIds) {
+        long now = generation.incrementAndGet();
+        articleIds.forEach(articleId -> viewsFlushedAt.put(articleId, now));
+        cache.asMap().values().removeIf(entry -> entry.viewedArticle() != null
+                && articleIds.contains(entry.viewedArticle()));
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "public-responses");
+        Gauge.builder("blog.cache.public-responses.bytes", this, PublicResponseCache::weightedSize)
+                .description("Cached public responses, identity and gzip bodies together")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        invalidateViewed(event.articleIds());
+    }
+}
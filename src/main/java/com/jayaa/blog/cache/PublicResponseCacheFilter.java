@@ -0,0 +1,211 @@
+package com.jayaa.blog.cache;
+
+import com.jayaa.blog.service.ViewCountService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves anonymous GETs of the public read endpoints from
+ * {@link PublicResponseCache}. A miss renders the response as usual,
+ * compresses it once (at the highest level, since the cost is paid once per
+ * representation instead of once per request) and stores both bodies; a hit
+ * copies the variant the client accepts, answers conditional requests from
+ * the stored validators, and still counts the article view. Responses to
+ * anything carrying credentials are never stored or served from here.
+ * Only gzip is produced: the JDK has no Brotli encoder and the project uses
+ * no native codecs; clients that accept br also accept gzip.
+ * Runs inside the Spring Security chain, so CORS and security headers are
+ * applied to hits exactly as to misses.
+ */
+@Component
+public class PublicResponseCacheFilter extends OncePerRequestFilter {
+
+    // Set by controllers whose responses record a view, so a hit can record it too
+    public static final String VIEWED_ARTICLE_ATTRIBUTE = PublicResponseCacheFilter.class.getName() + ".viewedArticle";
+
+    // Smaller bodies fit in one packet either way
+    private static final int MIN_COMPRESS_SIZE = 1024;
+
+    // A page with a few long articles; anything bigger isn't worth holding
+    private static final int MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+    @Autowired
+    private PublicResponseCache publicResponseCache;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || groupOf(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+
+        PublicResponseCache.Group group = groupOf(request.getRequestURI());
+        String url = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        PublicResponseCache.Entry entry = publicResponseCache.get(group, url);
+        if (entry != null) {
+            serveHit(entry, gzip, request, response);
+            return;
+        }
+
+        long renderedAt = publicResponseCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpStatus.OK.value()
+                || body.length == 0 || body.length > MAX_ENTRY_SIZE
+                || response.isCommitted()
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || wrapper.getHeader(HttpHeaders.SET_COOKIE) != null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        entry = new PublicResponseCache.Entry(
+                body,
+                body.length >= MIN_COMPRESS_SIZE ? compress(body) : null,
+                storedHeaders(wrapper),
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                (Long) request.getAttribute(VIEWED_ARTICLE_ATTRIBUTE));
+        publicResponseCache.put(group, url, entry, renderedAt);
+
+        // The wrapper only buffered the body; headers and status are already on the response
+        wrapper.resetBuffer();
+        writeBody(entry, gzip, response);
+    }
+
+    private void serveHit(
+            PublicResponseCache.Entry entry,
+            boolean gzip,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (entry.viewedArticle() != null) {
+            viewCountService.recordView(entry.viewedArticle());
+        }
+        if (entry.pattern() != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, entry.pattern());
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(entry.pattern()));
+        }
+
+        entry.headers().forEach(response::setHeader);
+        String etag = entry.headers().get(HttpHeaders.ETAG);
+        String lastModifiedHeader = entry.headers().get(HttpHeaders.LAST_MODIFIED);
+        long lastModified = lastModifiedHeader == null ? -1
+                : ZonedDateTime.parse(lastModifiedHeader, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        writeBody(entry, gzip, response);
+    }
+
+    private static void writeBody(PublicResponseCache.Entry entry, boolean gzip, HttpServletResponse response)
+            throws IOException {
+        byte[] body = entry.identity();
+        if (gzip && entry.gzip() != null) {
+            body = entry.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static Map<String, String> storedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    private static byte[] compress(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    // gzip, or *, listed without q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    refused = param.matches("q=0(\\.0{0,3})?");
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    // The endpoints SecurityConfig permits for anonymous reads of articles, categories and tags
+    private static PublicResponseCache.Group groupOf(String uri) {
+        if (uri.equals("/api/articles")
+                || (uri.startsWith("/api/articles/slug/") && uri.indexOf('/', "/api/articles/slug/".length()) < 0)) {
+            return PublicResponseCache.Group.ARTICLES;
+        }
+        if (uri.equals("/api/categories") || uri.equals("/api/tags")) {
+            return PublicResponseCache.Group.REFERENCE_DATA;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.jayaa.blog.cache;
+
+import com.jayaa.blog.config.SecondLevelCacheConfig;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
+import com.jayaa.blog.model.Article;
+import com.jayaa.blog.model.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Explicit second-level cache eviction. Hibernate already keeps READ_WRITE
+ * regions in step with its own writes; this covers what it cannot see:
+ * rows changed by plain JDBC and by ON DELETE CASCADE in the database.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final String ARTICLE_TAGS_ROLE = Article.class.getName() + ".tags";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        Cache cache = cache();
+        cache.evictEntityData(event.entityType(), event.id());
+        cache.evictQueryRegion(SecondLevelCacheConfig.REFERENCE_QUERY_REGION);
+        if (event.entityType() == Tag.class) {
+            // Deleting a tag removes its article_tags rows in the database, behind Hibernate's back
+            cache.evictCollectionData(ARTICLE_TAGS_ROLE);
+        }
+    }
+
+    // After bulk JDBC writes to the table behind an entity
+    public void evictAll(Class<?> entityType) {
+        Cache cache = cache();
+        cache.evictEntityData(entityType);
+        cache.evictQueryRegion(SecondLevelCacheConfig.REFERENCE_QUERY_REGION);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
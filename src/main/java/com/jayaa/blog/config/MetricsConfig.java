@@ -0,0 +1,17 @@
+package com.jayaa.blog.config;
+
+import com.jayaa.blog.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // ⭐ Per-request SQL counting; an inspector set explicitly in properties (e.g. the test profile) wins
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
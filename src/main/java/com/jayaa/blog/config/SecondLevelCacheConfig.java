@@ -0,0 +1,69 @@
+package com.jayaa.blog.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache.
+ * Every region is created here, bounded and with a TTL, and Hibernate is set
+ * to fail on any region it doesn't find, so a typo in an {@code @Cache}
+ * region name shows up at startup instead of as an unbounded cache.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Query results for the reference lists (CategoryRepository/TagRepository.findAll)
+    public static final String REFERENCE_QUERY_REGION = "reference-queries";
+
+    // Entity, collection and query-result regions; all bounded and expiring
+    public static final List<String> DATA_REGIONS = List.of(
+            "categories", "tags", "users", "article-tags",
+            REFERENCE_QUERY_REGION, "default-query-results-region"
+    );
+
+    // Last-write time per table; query results are checked against it, so it must never expire
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${app.cache.second-level.max-size:10000}") long maxSize,
+            @Value("${app.cache.second-level.ttl:1h}") Duration ttl
+    ) {
+        // Own manager per application context, so test contexts don't share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("blog-second-level-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : DATA_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration()
+                    .setMaximumSize(OptionalLong.of(maxSize))
+                    .setExpireAfterWrite(OptionalLong.of(ttl.toNanos())));
+        }
+        cacheManager.createCache(TIMESTAMPS_REGION, regionConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Hibernate stores immutable disassembled state, so entries are shared by reference, not copied
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        return new CaffeineConfiguration<>().setStoreByValue(false);
+    }
+}
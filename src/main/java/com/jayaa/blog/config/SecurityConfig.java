@@ -1,7 +1,11 @@
 package com.jayaa.blog.config;
 
+import com.jayaa.blog.security.BoundedPasswordEncoder;
 import com.jayaa.blog.security.JwtFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -16,6 +20,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,9 +32,15 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    // ⭐ BCrypt runs on its own bounded pool, never on request threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.hash-threads:0}") int threads,
+            @Value("${app.auth.hash-queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.hash-timeout:2s}") Duration timeout
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -49,6 +60,9 @@ public class SecurityConfig {
                                 "/favicon.ico"
                         ).permitAll()
 
+                        // Actuator - only reachable on the loopback management port
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+
                         // Authentication endpoints - PUBLIC
                         .requestMatchers(
                                 "/auth/register",
@@ -58,15 +72,18 @@ public class SecurityConfig {
                         // Public read endpoints - Articles, Categories, Tags
                         .requestMatchers(
                                 "/api/articles",
+                                "/api/articles/feed",
                                 "/api/articles/slug/**",
                                 "/api/articles/category/**",
                                 "/api/articles/tag/**",
                                 "/api/articles/search",
                                 "/api/articles/*/comments",
+                                "/api/articles/*/comments/feed",
                                 "/api/categories",
                                 "/api/categories/*",
                                 "/api/tags",
-                                "/api/tags/*"
+                                "/api/tags/*",
+                                "/api/images/*"
                         ).permitAll()
 
                         // All other requests require authentication
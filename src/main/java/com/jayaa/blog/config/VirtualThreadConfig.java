@@ -0,0 +1,48 @@
+package com.jayaa.blog.config;
+
+import com.jayaa.blog.jdbc.ConcurrencyLimitedDataSource;
+import com.jayaa.blog.jdbc.JdbcConcurrencyLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active when spring.threads.virtual.enabled=true (the "virtual" profile).
+ * Boot itself moves Tomcat, @Async and @Scheduled onto virtual threads;
+ * this adds the JDBC limiter that stands in for the bound the Tomcat
+ * thread pool used to provide.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // ⭐ Defaults to the Hikari pool size, so waiting happens in our fair queue rather than inside the pool
+    @Bean
+    public static JdbcConcurrencyLimiter jdbcConcurrencyLimiter(
+            @Value("${app.jdbc.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${app.jdbc.acquire-timeout:5s}") Duration acquireTimeout
+    ) {
+        return new JdbcConcurrencyLimiter(maxConcurrency, acquireTimeout);
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<JdbcConcurrencyLimiter> limiter
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, limiter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.jayaa.blog.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jayaa.blog.cache.ArticleResponseCache;
+import com.jayaa.blog.config.SecondLevelCacheConfig;
+import com.jayaa.blog.dto.CacheRegionStatsResponse;
+import com.jayaa.blog.dto.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.List;
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    @Autowired
+    private ArticleResponseCache articleResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // ⭐ Hit/miss ratio and load latency of the article cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        CacheStats stats = articleResponseCache.stats();
+
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setName("articles");
+        response.setSize(articleResponseCache.size());
+        response.setHitCount(stats.hitCount());
+        response.setMissCount(stats.missCount());
+        response.setHitRate(stats.hitRate());
+        response.setLoadSuccessCount(stats.loadSuccessCount());
+        response.setLoadFailureCount(stats.loadFailureCount());
+        response.setAverageLoadMillis(stats.averageLoadPenalty() / 1_000_000.0);
+        response.setEvictionCount(stats.evictionCount());
+        return ResponseEntity.ok(response);
+    }
+
+    // ⭐ Hibernate second-level cache, per region
+    @GetMapping("/cache-stats/second-level")
+    public ResponseEntity<List<CacheRegionStatsResponse>> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStatsResponse> regions = new ArrayList<>();
+        for (String region : SecondLevelCacheConfig.DATA_REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            CacheRegionStatsResponse response = new CacheRegionStatsResponse();
+            response.setRegion(region);
+            response.setHitCount(stats.getHitCount());
+            response.setMissCount(stats.getMissCount());
+            response.setPutCount(stats.getPutCount());
+            long requests = stats.getHitCount() + stats.getMissCount();
+            response.setHitRate(requests == 0 ? 1.0 : (double) stats.getHitCount() / requests);
+            regions.add(response);
+        }
+        return ResponseEntity.ok(regions);
+    }
+}
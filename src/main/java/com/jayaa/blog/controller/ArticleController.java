@@ -1,14 +1,19 @@
 package com.jayaa.blog.controller;
 
+import com.jayaa.blog.cache.PublicResponseCacheFilter;
+import com.jayaa.blog.dto.ArticleJson;
 import com.jayaa.blog.dto.ArticleRequest;
 import com.jayaa.blog.dto.ArticleResponse;
+import com.jayaa.blog.dto.CursorPage;
 import com.jayaa.blog.service.ArticleService;
 import com.jayaa.blog.util.FileStorageUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,19 +34,36 @@ public class ArticleController {
     // ========== PUBLIC ENDPOINTS (No auth required) ==========
 
     @GetMapping
-    public ResponseEntity<Page<ArticleResponse>> getAllPublishedArticles(
+    public ResponseEntity<Page<ArticleJson>> getAllPublishedArticles(
             @PageableDefault(size = 10, sort = "createdAt") Pageable pageable
     ) {
         return ResponseEntity.ok(articleService.getAllPublishedArticles(pageable));
     }
 
+    // Cursor-based variant of the list above: newest first, no total count
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<ArticleJson>> getPublishedFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(articleService.getPublishedFeed(cursor, pageSize));
+    }
+
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ArticleResponse> getArticleBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(articleService.getArticleBySlug(slug));
+    public ResponseEntity<ArticleJson> getArticleBySlug(@PathVariable String slug, HttpServletRequest request) {
+        ArticleJson article = articleService.getArticleBySlug(slug);
+        // A cached copy of this response still has to count the view
+        request.setAttribute(PublicResponseCacheFilter.VIEWED_ARTICLE_ATTRIBUTE, article.getId());
+        // ⭐ Spring answers a matching If-None-Match with 304 and no body; the view is still counted
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(article.getEtag())
+                .body(article);
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ArticleResponse>> getArticlesByCategory(
+    public ResponseEntity<Page<ArticleJson>> getArticlesByCategory(
             @PathVariable Long categoryId,
             @PageableDefault(size = 10) Pageable pageable
     ) {
@@ -49,7 +71,7 @@ public class ArticleController {
     }
 
     @GetMapping("/tag/{tagId}")
-    public ResponseEntity<Page<ArticleResponse>> getArticlesByTag(
+    public ResponseEntity<Page<ArticleJson>> getArticlesByTag(
             @PathVariable Long tagId,
             @PageableDefault(size = 10) Pageable pageable
     ) {
@@ -57,7 +79,7 @@ public class ArticleController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<ArticleResponse>> searchArticles(
+    public ResponseEntity<Page<ArticleJson>> searchArticles(
             @RequestParam String q,
             @PageableDefault(size = 10) Pageable pageable
     ) {
@@ -68,7 +90,7 @@ public class ArticleController {
 
     @GetMapping("/my-articles")
     @PreAuthorize("hasAnyRole('AUTHOR', 'ADMIN')")
-    public ResponseEntity<Page<ArticleResponse>> getMyArticles(
+    public ResponseEntity<Page<ArticleJson>> getMyArticles(
             @PageableDefault(size = 10) Pageable pageable
     ) {
         return ResponseEntity.ok(articleService.getMyArticles(pageable));
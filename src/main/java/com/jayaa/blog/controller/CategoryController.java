@@ -2,13 +2,18 @@ package com.jayaa.blog.controller;
 
 import com.jayaa.blog.dto.CategoryRequest;
 import com.jayaa.blog.dto.CategoryResponse;
+import com.jayaa.blog.repository.projection.TableVersionView;
 import com.jayaa.blog.service.CategoryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.List;
 
 @RestController
@@ -16,12 +21,24 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class CategoryController {
 
+    // Stored by browsers and the CDN, but revalidated on every use (otherwise Spring Security sends no-store)
+    private static final String REVALIDATE = "no-cache";
+
     @Autowired
     private CategoryService categoryService;
 
     // Public - anyone can view
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        // ⭐ ETag + Last-Modified from one aggregate query; a match is a 304 without loading the list
+        TableVersionView version = categoryService.getCategoriesVersion();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        if (new ServletWebRequest(request, response).checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 
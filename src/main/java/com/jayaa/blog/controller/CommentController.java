@@ -2,6 +2,7 @@ package com.jayaa.blog.controller;
 
 import com.jayaa.blog.dto.CommentRequest;
 import com.jayaa.blog.dto.CommentResponse;
+import com.jayaa.blog.dto.CursorPage;
 import com.jayaa.blog.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,17 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByArticle(articleId, pageable));
     }
 
+    // Cursor-based variant (public): oldest first, no total count
+    @GetMapping("/api/articles/{articleId}/comments/feed")
+    public ResponseEntity<CursorPage<CommentResponse>> getCommentFeed(
+            @PathVariable Long articleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(commentService.getCommentFeed(articleId, cursor, pageSize));
+    }
+
     // Add comment to article (authenticated)
     @PostMapping("/api/articles/{articleId}/comments")
     public ResponseEntity<CommentResponse> createComment(
@@ -0,0 +1,154 @@
+package com.jayaa.blog.controller;
+
+import com.jayaa.blog.util.FileStorageUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves stored images straight from the upload directory. Blob names are
+ * content hashes, so a name never changes meaning: the ETag is the name
+ * itself and responses are cacheable forever. Bodies are never read onto
+ * the heap; large ones are handed to Tomcat's sendfile, the rest go through
+ * {@link FileChannel#transferTo}.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    // Uploaded SVG may carry script; never let an image response run as a document
+    private static final String IMAGE_CSP = "default-src 'none'; style-src 'unsafe-inline'; sandbox";
+
+    // Same threshold as Tomcat's DefaultServlet: smaller bodies are cheaper to copy than to hand off
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private FileStorageUtil fileStorageUtil;
+
+    // ⭐ GET and HEAD, with single byte ranges and If-None-Match / If-Range
+    @GetMapping("/{filename}")
+    public void getImage(
+            @PathVariable String filename,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path file = fileStorageUtil.resolveStored(filename);
+        String etag = "\"" + stem(filename) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        long count = end - start + 1;
+        response.setContentType(contentType.toString());
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("Content-Security-Policy", IMAGE_CSP);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file with sendfile(2) once this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long written = channel.transferTo(position, end + 1 - position, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    // {start, end} for one satisfiable range, an empty array to send the whole file, null for 416
+    // (a well-formed byte range that doesn't fit the file)
+    private static long[] parseRange(String header, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException ex) {
+            // Unknown unit or not a byte range at all: ignored, per RFC 9110 14.2
+            return new long[0];
+        }
+        if (ranges.size() != 1) {
+            // Multipart byteranges are not worth it for images; the full body is a valid answer
+            return new long[0];
+        }
+
+        try {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+            return start <= end ? new long[]{start, end} : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // A Range is only honoured if If-Range is absent or still names this representation
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    private static String stem(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        return dotIndex > 0 ? filename.substring(0, dotIndex) : filename;
+    }
+}
@@ -2,23 +2,40 @@ package com.jayaa.blog.controller;
 
 import com.jayaa.blog.dto.TagRequest;
 import com.jayaa.blog.dto.TagResponse;
+import com.jayaa.blog.repository.projection.TableVersionView;
 import com.jayaa.blog.service.TagService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.List;
 @RestController
 @RequestMapping("/api/tags")
 @CrossOrigin(origins = "*")
 public class TagController {
+    // Stored by browsers and the CDN, but revalidated on every use (otherwise Spring Security sends no-store)
+    private static final String REVALIDATE = "no-cache";
+
     @Autowired
     private TagService tagService;
 
     @GetMapping
-    public ResponseEntity<List<TagResponse>> getAllTags() {
+    public ResponseEntity<List<TagResponse>> getAllTags(
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        // ⭐ ETag + Last-Modified from one aggregate query; a match is a 304 without loading the list
+        TableVersionView version = tagService.getTagsVersion();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        if (new ServletWebRequest(request, response).checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(tagService.getAllTags());
     }
 
@@ -0,0 +1,75 @@
+package com.jayaa.blog.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jayaa.blog.cache.JsonFragment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+// ⭐ An ArticleResponse / ArticleSummaryResponse already encoded by ArticleJsonCache,
+// written as is with the article body (details only) and the live view count spliced in last
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = ArticleJson.Serializer.class)
+public class ArticleJson {
+
+    private final Long id;
+
+    // The JSON object without its closing brace
+    private final JsonFragment fragment;
+    private final int viewCount;
+
+    // Detail responses only
+    private final String etag;
+
+    // Detail responses only: writes the body as an encoded JSON string, straight from ArticleBodyStore
+    private final ContentWriter content;
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public static class Serializer extends StdSerializer<ArticleJson> {
+
+        public Serializer() {
+            super(ArticleJson.class);
+        }
+
+        @Override
+        public void serialize(ArticleJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.fragment);
+            if (value.content != null) {
+                gen.writeRaw(",\"content\":");
+                writeContent(value.content, gen);
+            }
+            gen.writeRaw(",\"viewCount\":");
+            gen.writeRaw(Integer.toString(value.viewCount));
+            gen.writeRaw('}');
+        }
+
+        // Byte output (HTTP responses): hand over what the generator buffered, then copy the body past it
+        private static void writeContent(ContentWriter content, JsonGenerator gen) throws IOException {
+            if (gen.getOutputTarget() instanceof OutputStream out) {
+                boolean flushStream = gen.isEnabled(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+                gen.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM); // don't commit the response yet
+                try {
+                    gen.flush();
+                } finally {
+                    gen.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, flushStream);
+                }
+                content.writeTo(out);
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                content.writeTo(buffer);
+                gen.writeRaw(buffer.toString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
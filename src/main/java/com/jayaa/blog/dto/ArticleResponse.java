@@ -1,8 +1,10 @@
 package com.jayaa.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.jayaa.blog.model.ArticleStatus;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 
 @Data
@@ -14,6 +16,9 @@ public class ArticleResponse {
     private String content;
     private String excerpt;
     private String featuredImage;
+
+    // ⭐ Downscaled copies, width -> URL (empty until the image worker has run)
+    private Map<Integer, String> featuredImageVariants;
     private ArticleStatus status;
     private Integer viewCount;
 
@@ -32,6 +37,14 @@ public class ArticleResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // ⭐ Validator for conditional GET, computed once per cache load; sent as a header, not in the body
+    @JsonIgnore
+    private String etag;
+
+    // ⭐ Cached detail responses leave content null and carry this instead; the body lives in ArticleBodyStore
+    @JsonIgnore
+    private String contentDigest;
+
     // Nested DTOs for related entities
     @Data
     public static class AuthorInfo {
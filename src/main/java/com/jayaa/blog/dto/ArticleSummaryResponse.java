@@ -0,0 +1,32 @@
+package com.jayaa.blog.dto;
+
+import com.jayaa.blog.model.ArticleStatus;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+// ⭐ List view of an article: everything except the content body
+@Data
+public class ArticleSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String featuredImage;
+
+    // ⭐ Downscaled copies, width -> URL (empty until the image worker has run)
+    private Map<Integer, String> featuredImageVariants;
+    private ArticleStatus status;
+    private Integer viewCount;
+
+    private ArticleResponse.AuthorInfo author;
+    private ArticleResponse.CategoryInfo category;
+    private Set<ArticleResponse.TagInfo> tags;
+
+    private Integer commentCount;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.jayaa.blog.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatsResponse {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRate;
+}
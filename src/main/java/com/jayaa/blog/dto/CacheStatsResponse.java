@@ -0,0 +1,17 @@
+package com.jayaa.blog.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsResponse {
+
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private double averageLoadMillis;
+    private long evictionCount;
+}
@@ -0,0 +1,15 @@
+package com.jayaa.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+// ⭐ Keyset page: no total count, just an opaque cursor for the next slice
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,17 @@
+package com.jayaa.blog.event;
+
+/**
+ * Published by ArticleService whenever an article is written. Listeners that
+ * keep derived state (search index, caches) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record ArticleChangedEvent(Long articleId, String slug, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        COMMENTS_CHANGED,
+        IMAGE_VARIANTS_READY
+    }
+}
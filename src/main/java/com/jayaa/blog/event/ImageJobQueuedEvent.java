@@ -0,0 +1,5 @@
+package com.jayaa.blog.event;
+
+// Published by ImageJobService when a variant job is inserted; workers start on it after commit
+public record ImageJobQueuedEvent(Long jobId) {
+}
@@ -0,0 +1,5 @@
+package com.jayaa.blog.event;
+
+// Published by CategoryService and TagService when a category or tag is created, renamed or deleted
+public record ReferenceDataChangedEvent(Class<?> entityType, Long id) {
+}
@@ -0,0 +1,7 @@
+package com.jayaa.blog.event;
+
+import java.util.Set;
+
+// Published by ViewCountService after buffered view counts were written to the database
+public record ViewCountsFlushedEvent(Set<Long> articleIds) {
+}
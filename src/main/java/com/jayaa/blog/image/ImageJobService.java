@@ -0,0 +1,276 @@
+package com.jayaa.blog.image;
+
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.jayaa.blog.event.ImageJobQueuedEvent;
+import com.jayaa.blog.model.ImageJob;
+import com.jayaa.blog.model.ImageJobStatus;
+import com.jayaa.blog.repository.ArticleRepository;
+import com.jayaa.blog.repository.ImageJobRepository;
+import com.jayaa.blog.util.FileStorageUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates the downscaled variants of featured images in the background.
+ * Jobs live in the image_jobs table, so a restart loses nothing: a job is
+ * inserted in the same transaction that changes the image, claimed with a
+ * compare-and-set UPDATE, and run on a small fixed pool of platform threads
+ * (the work is CPU-bound). Jobs left RUNNING by a crashed worker are put
+ * back after {@code app.images.stale-after}; after
+ * {@code app.images.max-attempts} claims a job is marked FAILED.
+ */
+@Service
+public class ImageJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageJobService.class);
+
+    @Autowired
+    private ImageJobRepository imageJobRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private FileStorageUtil fileStorageUtil;
+
+    @Autowired
+    private ImageResizer imageResizer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.images.variant-widths:320,768,1280}")
+    private List<Integer> variantWidths;
+
+    @Value("${app.images.workers:2}")
+    private int workers;
+
+    @Value("${app.images.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.images.stale-after:10m}")
+    private Duration staleAfter;
+
+    private ExecutorService executor;
+
+    // One running job per worker plus one claimed behind each; nothing more is taken from the table
+    private Semaphore slots;
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("image-worker-", 1).factory());
+        slots = new Semaphore(workers * 2);
+        Gauge.builder("blog.image.jobs.in-flight", slots, s -> workers * 2 - s.availablePermits())
+                .description("Image jobs claimed by this instance and not finished yet")
+                .register(meterRegistry);
+    }
+
+    // Called inside the transaction that changes the featured image
+    public void enqueue(Long articleId, String source) {
+        ImageJob job = new ImageJob();
+        job.setArticleId(articleId);
+        job.setSource(source);
+        imageJobRepository.save(job);
+        eventPublisher.publishEvent(new ImageJobQueuedEvent(job.getId()));
+    }
+
+    // ⭐ Start right after commit, but never on the request thread
+    @TransactionalEventListener
+    public void onJobQueued(ImageJobQueuedEvent event) {
+        taskScheduler.schedule(this::poll, Instant.now());
+    }
+
+    // Safety net for missed wake-ups, other instances' jobs and crash recovery
+    @Scheduled(
+            fixedDelayString = "${app.images.poll-interval-ms:5000}",
+            initialDelayString = "${app.images.poll-interval-ms:5000}"
+    )
+    public void pollScheduled() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer requeued = transactionTemplate.execute(status ->
+                imageJobRepository.requeueStale(now.minus(staleAfter), now));
+        if (requeued != null && requeued > 0) {
+            log.warn("Requeued {} image jobs that were running for more than {}", requeued, staleAfter);
+        }
+        poll();
+    }
+
+    // Whoever holds the lock re-runs the dispatch for callers that arrived meanwhile
+    public void poll() {
+        pollRequested.set(true);
+        while (pollRequested.get() && pollLock.tryLock()) {
+            try {
+                pollRequested.set(false);
+                dispatch();
+            } finally {
+                pollLock.unlock();
+            }
+        }
+    }
+
+    private void dispatch() {
+        int free = slots.availablePermits();
+        if (free == 0) {
+            return;
+        }
+
+        for (ImageJob job : imageJobRepository.findByStatusOrderByIdAsc(ImageJobStatus.PENDING, Limit.of(free))) {
+            if (!slots.tryAcquire()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Integer claimed = transactionTemplate.execute(status -> imageJobRepository.claim(job.getId(), now));
+            if (claimed == null || claimed == 0) {
+                slots.release();
+                continue;
+            }
+
+            int attempt = job.getAttempts() + 1;
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(job, attempt);
+                    } finally {
+                        slots.release();
+                        poll();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // Shutting down: hand the job straight back instead of waiting for the stale sweep
+                slots.release();
+                finish(job, ImageJobStatus.PENDING, null);
+                return;
+            }
+        }
+    }
+
+    private void run(ImageJob job, int attempt) {
+        if (attempt > maxAttempts) {
+            finish(job, ImageJobStatus.FAILED, "Gave up after " + maxAttempts + " attempts");
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            String widths = generate(job.getSource());
+            transactionTemplate.executeWithoutResult(status -> {
+                int recorded = articleRepository.recordImageVariants(job.getArticleId(), job.getSource(), widths);
+                imageJobRepository.finish(job.getId(), ImageJobStatus.DONE, null, LocalDateTime.now());
+                if (recorded > 0) {
+                    eventPublisher.publishEvent(new ArticleChangedEvent(
+                            job.getArticleId(), null, ArticleChangedEvent.Type.IMAGE_VARIANTS_READY));
+                }
+            });
+            outcome = "done";
+        } catch (IOException | RuntimeException ex) {
+            boolean giveUp = attempt >= maxAttempts;
+            finish(job, giveUp ? ImageJobStatus.FAILED : ImageJobStatus.PENDING, ex.getMessage());
+            log.warn("Image job {} for {} failed (attempt {} of {})",
+                    job.getId(), job.getSource(), attempt, maxAttempts, ex);
+            outcome = giveUp ? "failed" : "retry";
+        }
+        sample.stop(meterRegistry.timer("blog.image.jobs", "outcome", outcome));
+    }
+
+    // Writes the missing variants and returns the widths to record, e.g. "320,768,1280"
+    private String generate(String source) throws IOException {
+        String format = ImageVariants.formatOf(source);
+        if (format == null) {
+            return "";
+        }
+        Path file = fileStorageUtil.resolveStored(source);
+        int sourceWidth = imageResizer.probe(file).width();
+
+        // Never upscale: an image narrower than a variant is already small enough for it
+        List<Integer> widths = variantWidths.stream()
+                .filter(width -> width < sourceWidth)
+                .distinct()
+                .sorted()
+                .toList();
+        if (widths.isEmpty()) {
+            return "";
+        }
+
+        // The same bytes were processed before (deduplicated upload): the names are already taken
+        boolean missing = false;
+        for (Integer width : widths) {
+            missing |= !fileStorageUtil.touchIfExists(ImageVariants.variantName(source, width));
+        }
+        if (!missing) {
+            return ImageVariants.encodeWidths(widths);
+        }
+
+        // Largest first, each variant scaled from the previous one
+        BufferedImage current = imageResizer.decode(file, widths.get(widths.size() - 1));
+        for (int i = widths.size() - 1; i >= 0; i--) {
+            int width = widths.get(i);
+            BufferedImage variant = imageResizer.scale(current, width, format);
+            fileStorageUtil.storeDerived(ImageVariants.variantName(source, width),
+                    temp -> imageResizer.write(variant, format, temp));
+            current = variant;
+        }
+        return ImageVariants.encodeWidths(widths);
+    }
+
+    private void finish(ImageJob job, ImageJobStatus status, String error) {
+        String message = error != null && error.length() > 512 ? error.substring(0, 512) : error;
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    imageJobRepository.finish(job.getId(), status, message, LocalDateTime.now()));
+        } catch (DataAccessException ex) {
+            // Still RUNNING in the table, so the stale sweep hands it out again
+            log.warn("Could not mark image job {} as {}", job.getId(), status, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Claimed jobs get a moment to finish; whatever is still RUNNING after that goes back via the stale sweep
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
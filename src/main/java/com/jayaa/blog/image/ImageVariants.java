@@ -0,0 +1,74 @@
+package com.jayaa.blog.image;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Naming scheme for the downscaled copies of a stored image. A variant of
+ * {@code <stem>.<ext>} is {@code <stem>-w<width>.<jpg|png>}, so variant names
+ * follow from the source name and the widths in articles.featured_image_variants;
+ * nothing else needs to be stored. JPEG sources stay JPEG, other raster
+ * formats become PNG, and formats the JDK cannot decode get no variants.
+ */
+public final class ImageVariants {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    private static final String WIDTH_MARKER = "-w";
+
+    private ImageVariants() {
+    }
+
+    // Output format for variants of this source, or null if it gets none
+    public static String formatOf(String source) {
+        return switch (extension(source)) {
+            case "jpg", "jpeg" -> "jpg";
+            case "png", "gif", "bmp" -> "png";
+            default -> null;
+        };
+    }
+
+    public static String variantName(String source, int width) {
+        return stem(source) + WIDTH_MARKER + width + "." + formatOf(source);
+    }
+
+    // Stem of the source a stored file belongs to: the file's own stem unless it is a variant
+    public static String sourceStem(String filename) {
+        String stem = stem(filename);
+        int marker = stem.lastIndexOf(WIDTH_MARKER);
+        if (marker > 0 && marker + WIDTH_MARKER.length() < stem.length()
+                && stem.substring(marker + WIDTH_MARKER.length()).chars().allMatch(Character::isDigit)) {
+            return stem.substring(0, marker);
+        }
+        return stem;
+    }
+
+    public static String encodeWidths(Collection<Integer> widths) {
+        return widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    // ⭐ width -> URL, smallest first; empty while the variants are still being generated
+    public static Map<Integer, String> urls(String source, String widths) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        if (source == null || widths == null || widths.isEmpty() || formatOf(source) == null) {
+            return urls;
+        }
+        for (String width : widths.split(",")) {
+            int value = Integer.parseInt(width.trim());
+            urls.put(value, URL_PREFIX + variantName(source, value));
+        }
+        return urls;
+    }
+
+    private static String stem(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        return dotIndex > 0 ? filename.substring(0, dotIndex) : filename;
+    }
+
+    private static String extension(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        return dotIndex > 0 ? filename.substring(dotIndex + 1).toLowerCase() : "";
+    }
+}
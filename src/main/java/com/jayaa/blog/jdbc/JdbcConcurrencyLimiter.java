@@ -0,0 +1,64 @@
+package com.jayaa.blog.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many threads hold a JDBC connection at once. With virtual threads
+ * there is no Tomcat thread pool in front of the database any more, so
+ * thousands of requests can reach the connection pool together; this queues
+ * them fairly (FIFO) in front of Hikari and turns an overlong wait into a
+ * fast failure instead of a pile of parked threads.
+ */
+public class JdbcConcurrencyLimiter implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    public JdbcConcurrencyLimiter(int maxConcurrency, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void acquire() throws SQLException {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+        rejected.increment();
+        throw new SQLTransientConnectionException(
+                "No database connection available within " + Duration.ofNanos(acquireTimeoutNanos).toMillis() + "ms");
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jdbc.limiter.active", this, l -> l.maxConcurrency - l.permits.availablePermits())
+                .description("Threads currently holding a JDBC connection")
+                .register(registry);
+        Gauge.builder("jdbc.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads queued for a JDBC connection")
+                .register(registry);
+        FunctionCounter.builder("jdbc.limiter.rejected", rejected, LongAdder::sum)
+                .description("Connection requests that timed out in the queue")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.jayaa.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * {@link SqlStatementMetricsFilter} resets it when a request starts and
+ * records the total when it ends. Counting is a thread-local increment, so
+ * it stays on in production. Statements run through JdbcTemplate (view-count
+ * flush, counter repair) bypass Hibernate and are not counted; they happen
+ * off the request threads anyway.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
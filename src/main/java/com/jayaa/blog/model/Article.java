@@ -2,7 +2,15 @@ package com.jayaa.blog.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -21,22 +29,56 @@ public class Article {
     @Column(unique = true, nullable = false)
     private String slug;
 
+    // Empty when the row is stored compressed; read through getContent()
     @Column(columnDefinition = "TEXT", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     private String content;
 
+    // ⭐ Written by ContentCompressionService, see ContentCodec
+    @Column(name = "content_compressed", columnDefinition = "BLOB")
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    @ToString.Exclude
+    private byte[] contentCompressed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_codec", nullable = false, length = 16)
+    @ColumnDefault("'NONE'")
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private ContentCodec contentCodec = ContentCodec.NONE;
+
+    // The text, decompressed on first read
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String decodedContent;
+
     @Column(length = 255)
     private String excerpt;
 
     @Column(name = "featured_image")
     private String featuredImage;
 
+    // Widths of the generated variants, e.g. "320,768,1280"; written only by ImageJobService
+    @Column(name = "featured_image_variants", length = 64, updatable = false)
+    private String featuredImageVariants;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ArticleStatus status = ArticleStatus.DRAFT;
 
-    @Column(name = "view_count")
+    // Only ever incremented in place by ViewCountService, never written from the entity
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
+    // Maintained by CommentService through bulk updates, see ArticleRepository.adjustCommentCount
+    @Column(name = "comment_count", updatable = false)
+    private Integer commentCount = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -62,8 +104,35 @@ public class Article {
             joinColumns = @JoinColumn(name = "article_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
+    // ⭐ Tag ids per article; the Tag rows themselves come from the "tags" region
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article-tags")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Tag> tags = new HashSet<>();
 
+    public String getContent() {
+        if (decodedContent == null) {
+            decodedContent = contentCodec.decode(content, contentCompressed);
+        }
+        return decodedContent;
+    }
+
+    // Stored as plain text
+    public void setContent(String content) {
+        this.content = content;
+        this.contentCompressed = null;
+        this.contentCodec = ContentCodec.NONE;
+        this.decodedContent = content;
+    }
+
+    // Stored as compressed by codec; the text is kept for the rest of this request
+    public void setCompressedContent(String content, ContentCodec codec, byte[] compressed) {
+        this.content = "";
+        this.contentCompressed = compressed;
+        this.contentCodec = codec;
+        this.decodedContent = content;
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
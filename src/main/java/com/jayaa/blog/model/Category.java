@@ -3,11 +3,15 @@ package com.jayaa.blog.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Data
 public class Category {
 
@@ -24,11 +28,24 @@ public class Category {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Maintained by ArticleService through bulk updates, see CategoryRepository.adjustArticleCount
+    @Column(name = "article_count", updatable = false)
+    private Integer articleCount = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Also bumped by the article_count bulk updates; feeds the list ETag, see CategoryRepository.findVersion
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
     // ⭐ ADD @JsonIgnore
     @OneToMany(mappedBy = "category")
     @JsonIgnore
     private List<Article> articles;
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.jayaa.blog.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// ⭐ One variant-generation request for an article's featured image, see ImageJobService
+@Entity
+@Table(name = "image_jobs")
+@Data
+public class ImageJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id: the worker never needs the article entity
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    // Stored blob name the variants are made from
+    @Column(nullable = false)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImageJobStatus status = ImageJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
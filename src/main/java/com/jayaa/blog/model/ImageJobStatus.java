@@ -0,0 +1,8 @@
+package com.jayaa.blog.model;
+
+public enum ImageJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
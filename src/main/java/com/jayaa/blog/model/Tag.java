@@ -3,10 +3,19 @@ package com.jayaa.blog.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
 @Table(name = "tags")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tags")
+@BatchSize(size = 50) // tags missing from the cache are fetched with one IN query, not one by one
 @Data
 public class Tag {
 
@@ -20,8 +29,24 @@ public class Tag {
     @Column(unique = true, nullable = false)
     private String slug;
 
+    // Maintained by ArticleService through bulk updates, see TagRepository.adjustArticleCount
+    @Column(name = "article_count", updatable = false)
+    private Integer articleCount = 0;
+
+    // Also bumped by the article_count bulk updates; feeds the list ETag, see TagRepository.findVersion
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
     // ⭐ ADD @JsonIgnore
+    // ⭐ Excluded from equals/hashCode/toString: hashing a Tag must not load (and recurse into) its articles
     @ManyToMany(mappedBy = "tags")
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Article> articles = new HashSet<>();
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -2,20 +2,50 @@ package com.jayaa.blog.repository;
 
 import com.jayaa.blog.model.Article;
 import com.jayaa.blog.model.ArticleStatus;
+import com.jayaa.blog.repository.projection.ArticleContentView;
+import com.jayaa.blog.repository.projection.ArticleIndexView;
+import com.jayaa.blog.repository.projection.ArticleSummaryView;
+import com.jayaa.blog.repository.projection.ArticleTagView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    // Columns needed by list pages; content is deliberately left out
+    String SUMMARY_SELECT = "SELECT a.id AS id, a.title AS title, a.slug AS slug, a.excerpt AS excerpt, " +
+            "a.featuredImage AS featuredImage, a.featuredImageVariants AS featuredImageVariants, " +
+            "a.status AS status, a.viewCount AS viewCount, " +
+            "a.commentCount AS commentCount, " +
+            "a.createdAt AS createdAt, a.updatedAt AS updatedAt, " +
+            "au.id AS authorId, au.username AS authorUsername, au.fullName AS authorFullName, " +
+            "c.id AS categoryId, c.name AS categoryName, c.slug AS categorySlug " +
+            "FROM Article a JOIN a.author au LEFT JOIN a.category c ";
+
+    // The body as stored (plain or compressed), for projections that decode it with ContentCodec
+    String CONTENT_COLUMNS = "a.content AS storedContent, a.contentCompressed AS contentCompressed, " +
+            "a.contentCodec AS contentCodec";
+
     // Find by slug
     Optional<Article> findBySlug(String slug);
 
+    // ⭐ Detail page without the body; content is read separately, and only when ArticleBodyStore misses
+    @Query(SUMMARY_SELECT + "WHERE a.slug = :slug")
+    Optional<ArticleSummaryView> findSummaryBySlug(@Param("slug") String slug);
+
+    @Query("SELECT " + CONTENT_COLUMNS + ", a.updatedAt AS updatedAt FROM Article a WHERE a.id = :id")
+    Optional<ArticleContentView> findContentById(@Param("id") Long id);
+
     // Find by status
     Page<Article> findByStatus(ArticleStatus status, Pageable pageable);
 
@@ -35,6 +65,114 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT a FROM Article a JOIN a.tags t WHERE t.id = :tagId")
     Page<Article> findByTagId(@Param("tagId") Long tagId, Pageable pageable);
 
-    // Check if slug exists
-    boolean existsBySlug(String slug);
-}
\ No newline at end of file
+    // ⭐ Every slug a new article could collide with: the base itself and base-* (one query)
+    @Query("SELECT a.slug FROM Article a WHERE a.slug = :base OR a.slug LIKE :prefixPattern ESCAPE '!'")
+    List<String> findSlugsWithBase(@Param("base") String base, @Param("prefixPattern") String prefixPattern);
+
+    // ========== SUMMARY PROJECTIONS (list endpoints) ==========
+
+    @Query(value = SUMMARY_SELECT + "WHERE a.status = :status",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+    Page<ArticleSummaryView> findSummariesByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE au.id = :authorId",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.author.id = :authorId")
+    Page<ArticleSummaryView> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.category.id = :categoryId")
+    Page<ArticleSummaryView> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "JOIN a.tags t WHERE t.id = :tagId",
+            countQuery = "SELECT COUNT(a) FROM Article a JOIN a.tags t WHERE t.id = :tagId")
+    Page<ArticleSummaryView> findSummariesByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+    // Database fallback for search, used until the in-memory index is built
+    @Query(value = SUMMARY_SELECT + "WHERE a.status = :status AND (" +
+            "LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(a.content) LIKE LOWER(CONCAT('%', :query, '%')))",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status AND (" +
+                    "LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                    "LOWER(a.content) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<ArticleSummaryView> searchSummaries(
+            @Param("query") String query,
+            @Param("status") ArticleStatus status,
+            Pageable pageable
+    );
+
+    // ⭐ Keyset feed, newest first: seek past (createdAt, id) instead of OFFSET, no COUNT query
+    @Query(SUMMARY_SELECT + "WHERE a.status = :status ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryView> findFeedFirstPage(@Param("status") ArticleStatus status, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.status = :status AND a.createdAt <= :createdAt " +
+            "AND (a.createdAt < :createdAt OR a.id < :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummaryView> findFeedAfter(
+            @Param("status") ArticleStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // Summaries for a known set of ids (order is not preserved)
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids")
+    List<ArticleSummaryView> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // ========== FULLTEXT SEARCH (MySQL MATCH ... AGAINST, relevance order) ==========
+
+    @Query(value = "SELECT a.id FROM articles a WHERE a.status = 'PUBLISHED' " +
+            "AND MATCH(a.title, a.content) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY MATCH(a.title, a.content) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC, a.id DESC",
+            countQuery = "SELECT COUNT(*) FROM articles a WHERE a.status = 'PUBLISHED' " +
+                    "AND MATCH(a.title, a.content) AGAINST (:query IN NATURAL LANGUAGE MODE)",
+            nativeQuery = true)
+    Page<Long> fulltextSearchIds(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT a.id FROM articles a WHERE a.status = 'PUBLISHED' " +
+            "AND MATCH(a.title, a.content) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(a.title, a.content) AGAINST (:query IN BOOLEAN MODE) DESC, a.id DESC",
+            countQuery = "SELECT COUNT(*) FROM articles a WHERE a.status = 'PUBLISHED' " +
+                    "AND MATCH(a.title, a.content) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Long> fulltextBooleanSearchIds(@Param("query") String query, Pageable pageable);
+
+    // ========== SEARCH INDEX ==========
+
+    @Query("SELECT a.id AS id, a.title AS title, " + CONTENT_COLUMNS + ", a.status AS status " +
+            "FROM Article a WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<ArticleIndexView> findIndexBatch(
+            @Param("status") ArticleStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT a.id AS id, a.title AS title, " + CONTENT_COLUMNS + ", a.status AS status " +
+            "FROM Article a WHERE a.id = :id")
+    Optional<ArticleIndexView> findIndexViewById(@Param("id") Long id);
+
+    // ⭐ Counter maintenance (updatedAt is assigned to itself so the DB doesn't bump it)
+    @Modifying
+    @Query("UPDATE Article a SET a.commentCount = a.commentCount + :delta, a.updatedAt = a.updatedAt " +
+            "WHERE a.id = :id")
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Tags for a whole page of articles in one round trip
+    @Query("SELECT a.id AS articleId, t.id AS id, t.name AS name, t.slug AS slug " +
+            "FROM Article a JOIN a.tags t WHERE a.id IN :articleIds")
+    List<ArticleTagView> findTagsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
+    // Every blob name still in use, for the upload sweep
+    @Query("SELECT DISTINCT a.featuredImage FROM Article a WHERE a.featuredImage IS NOT NULL")
+    List<String> findReferencedImages();
+
+    // ⭐ Variants are only recorded if the article still shows the image they were made from
+    @Modifying
+    @Query("UPDATE Article a SET a.featuredImageVariants = :variants, a.updatedAt = a.updatedAt " +
+            "WHERE a.id = :id AND a.featuredImage = :source")
+    int recordImageVariants(@Param("id") Long id, @Param("source") String source, @Param("variants") String variants);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.featuredImageVariants = NULL, a.updatedAt = a.updatedAt " +
+            "WHERE a.id = :id AND a.featuredImageVariants IS NOT NULL")
+    int clearImageVariants(@Param("id") Long id);
+}
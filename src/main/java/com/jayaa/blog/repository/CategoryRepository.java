@@ -1,15 +1,51 @@
 package com.jayaa.blog.repository;
 
+import com.jayaa.blog.config.SecondLevelCacheConfig;
 import com.jayaa.blog.model.Category;
+import com.jayaa.blog.repository.projection.TableVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    // ⭐ Served from the query cache; any write to the table invalidates it
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
+    List<Category> findAll();
+
     Optional<Category> findBySlug(String slug);
 
     boolean existsByName(String name);
 
     boolean existsBySlug(String slug);
+
+    // ⭐ Version of the whole list for conditional GET: one aggregate row, no entities,
+    // cached and invalidated together with findAll
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS lastModified FROM Category c")
+    TableVersionView findVersion();
+
+    default int adjustArticleCount(Long id, int delta) {
+        return adjustArticleCount(id, delta, LocalDateTime.now());
+    }
+
+    @Modifying
+    @Query("UPDATE Category c SET c.articleCount = c.articleCount + :delta, c.updatedAt = :now WHERE c.id = :id")
+    int adjustArticleCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -1,15 +1,37 @@
 package com.jayaa.blog.repository;
 
 import com.jayaa.blog.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    // Find all comments for an article
+    // Find all comments for an article (user fetched in the same query for the response)
+    @EntityGraph(attributePaths = "user")
     Page<Comment> findByArticleId(Long articleId, Pageable pageable);
 
     // Find all comments by a user
     Page<Comment> findByUserId(Long userId, Pageable pageable);
+
+    // ⭐ Keyset feed for an article, oldest first (user fetched in the same query)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.article.id = :articleId " +
+            "ORDER BY c.createdAt, c.id")
+    List<Comment> findFeedFirstPage(@Param("articleId") Long articleId, Limit limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.article.id = :articleId " +
+            "AND c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id) " +
+            "ORDER BY c.createdAt, c.id")
+    List<Comment> findFeedAfter(
+            @Param("articleId") Long articleId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
 }
\ No newline at end of file
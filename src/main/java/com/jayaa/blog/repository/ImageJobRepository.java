@@ -0,0 +1,37 @@
+package com.jayaa.blog.repository;
+
+import com.jayaa.blog.model.ImageJob;
+import com.jayaa.blog.model.ImageJobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageJobRepository extends JpaRepository<ImageJob, Long> {
+
+    // Oldest first, so a backlog drains in upload order
+    List<ImageJob> findByStatusOrderByIdAsc(ImageJobStatus status, Limit limit);
+
+    // ⭐ Compare-and-set claim: exactly one worker (or instance) gets 1 back
+    @Modifying
+    @Query("UPDATE ImageJob j SET j.status = com.jayaa.blog.model.ImageJobStatus.RUNNING, " +
+            "j.attempts = j.attempts + 1, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = com.jayaa.blog.model.ImageJobStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ImageJob j SET j.status = :status, j.lastError = :error, j.updatedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") ImageJobStatus status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by a worker that died (crash, kill -9) go back to the queue
+    @Modifying
+    @Query("UPDATE ImageJob j SET j.status = com.jayaa.blog.model.ImageJobStatus.PENDING, j.updatedAt = :now " +
+            "WHERE j.status = com.jayaa.blog.model.ImageJobStatus.RUNNING AND j.updatedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+}
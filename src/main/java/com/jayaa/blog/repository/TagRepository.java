@@ -1,14 +1,51 @@
 package com.jayaa.blog.repository;
 
+import com.jayaa.blog.config.SecondLevelCacheConfig;
 import com.jayaa.blog.model.Tag;
+import com.jayaa.blog.repository.projection.TableVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
+    // ⭐ Served from the query cache; any write to the table invalidates it
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
+    List<Tag> findAll();
+
     Optional<Tag> findBySlug(String slug);
 
     boolean existsByName(String name);
+
+    // ⭐ Version of the whole list for conditional GET: one aggregate row, no entities,
+    // cached and invalidated together with findAll
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+    })
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastModified FROM Tag t")
+    TableVersionView findVersion();
+
+    default int adjustArticleCount(Collection<Long> ids, int delta) {
+        return adjustArticleCount(ids, delta, LocalDateTime.now());
+    }
+
+    @Modifying
+    @Query("UPDATE Tag t SET t.articleCount = t.articleCount + :delta, t.updatedAt = :now WHERE t.id IN :ids")
+    int adjustArticleCount(
+            @Param("ids") Collection<Long> ids, @Param("delta") int delta, @Param("now") LocalDateTime now);
 }
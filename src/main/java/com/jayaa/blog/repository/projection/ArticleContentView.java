@@ -0,0 +1,21 @@
+package com.jayaa.blog.repository.projection;
+
+import com.jayaa.blog.model.ContentCodec;
+import java.time.LocalDateTime;
+
+// Article body with the version it belongs to, for ArticleBodyStore
+public interface ArticleContentView {
+
+    // As stored: empty for compressed rows, use getContent()
+    String getStoredContent();
+
+    byte[] getContentCompressed();
+
+    ContentCodec getContentCodec();
+
+    LocalDateTime getUpdatedAt();
+
+    default String getContent() {
+        return getContentCodec().decode(getStoredContent(), getContentCompressed());
+    }
+}
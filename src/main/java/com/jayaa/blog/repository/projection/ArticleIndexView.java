@@ -0,0 +1,25 @@
+package com.jayaa.blog.repository.projection;
+
+import com.jayaa.blog.model.ArticleStatus;
+import com.jayaa.blog.model.ContentCodec;
+
+// Just the fields the search index needs
+public interface ArticleIndexView {
+
+    Long getId();
+
+    String getTitle();
+
+    // As stored: empty for compressed rows, use getContent()
+    String getStoredContent();
+
+    byte[] getContentCompressed();
+
+    ContentCodec getContentCodec();
+
+    ArticleStatus getStatus();
+
+    default String getContent() {
+        return getContentCodec().decode(getStoredContent(), getContentCompressed());
+    }
+}
@@ -0,0 +1,42 @@
+package com.jayaa.blog.repository.projection;
+
+import com.jayaa.blog.model.ArticleStatus;
+import java.time.LocalDateTime;
+
+// Flat row for article list pages (no content column, author/category joined in)
+public interface ArticleSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    String getExcerpt();
+
+    String getFeaturedImage();
+
+    String getFeaturedImageVariants();
+
+    ArticleStatus getStatus();
+
+    Integer getViewCount();
+
+    Integer getCommentCount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getAuthorId();
+
+    String getAuthorUsername();
+
+    String getAuthorFullName();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategorySlug();
+}
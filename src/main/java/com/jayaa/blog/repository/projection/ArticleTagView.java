@@ -0,0 +1,13 @@
+package com.jayaa.blog.repository.projection;
+
+// One (article, tag) pair, used to fetch the tags of a whole page at once
+public interface ArticleTagView {
+
+    Long getArticleId();
+
+    Long getId();
+
+    String getName();
+
+    String getSlug();
+}
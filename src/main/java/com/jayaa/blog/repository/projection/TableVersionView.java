@@ -0,0 +1,27 @@
+package com.jayaa.blog.repository.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+// Row count and newest updated_at of a whole table: changes whenever a row is added, edited or removed
+public interface TableVersionView {
+
+    Long getCount();
+
+    LocalDateTime getLastModified();
+
+    // Strong validator; the count is what catches deletes, which never move the max
+    default String etag() {
+        LocalDateTime lastModified = getLastModified();
+        long micros = lastModified == null ? 0
+                : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastModified);
+        return "\"" + getCount() + "-" + micros + "\"";
+    }
+
+    // Epoch millis for Last-Modified, -1 (no header) for an empty table
+    default long lastModifiedMillis() {
+        LocalDateTime lastModified = getLastModified();
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
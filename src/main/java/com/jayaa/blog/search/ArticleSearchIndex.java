@@ -0,0 +1,167 @@
+package com.jayaa.blog.search;
+
+import com.jayaa.blog.util.SlugUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over article title and content, ranked with BM25.
+ * Text goes through {@link SlugUtil#fold} (lowercase + accent stripping) and is
+ * split on anything that is not a letter or digit. Title terms count
+ * {@link #TITLE_WEIGHT} times so title matches rank above body matches.
+ */
+public class ArticleSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final SlugUtil slugUtil;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (article id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private long totalLength;
+
+    public ArticleSearchIndex(SlugUtil slugUtil) {
+        this.slugUtil = slugUtil;
+    }
+
+    public record Hit(Long articleId, double score) {
+    }
+
+    private record IndexedDocument(String[] terms, int length) {
+    }
+
+    // Adds or replaces an article
+    public void index(Long articleId, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, title, TITLE_WEIGHT) + addTerms(frequencies, content, 1);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            frequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(articleId, tf));
+            documents.put(articleId, new IndexedDocument(frequencies.keySet().toArray(new String[0]), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // All matching articles, best first (ties broken by newest id)
+    public List<Hit> search(String query) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                int df = matches.size();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    int tf = match.getValue();
+                    int length = documents.get(match.getKey()).length();
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((articleId, score) -> hits.add(new Hit(articleId, score)));
+        hits.sort((a, b) -> {
+            int byScore = Double.compare(b.score(), a.score());
+            return byScore != 0 ? byScore : Long.compare(b.articleId(), a.articleId());
+        });
+        return hits;
+    }
+
+    List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String folded = slugUtil.fold(text);
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+
+    private int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeLocked(Long articleId) {
+        IndexedDocument existing = documents.remove(articleId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(articleId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+}
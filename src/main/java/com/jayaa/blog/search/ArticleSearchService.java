@@ -0,0 +1,209 @@
+package com.jayaa.blog.search;
+
+import com.jayaa.blog.cache.PublicResponseCache;
+import com.jayaa.blog.event.ArticleChangedEvent;
+import com.jayaa.blog.model.ArticleStatus;
+import com.jayaa.blog.repository.ArticleRepository;
+import com.jayaa.blog.repository.projection.ArticleIndexView;
+import com.jayaa.blog.util.SlugUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers article searches with a page of ids in relevance order, using the
+ * backend selected by {@code app.search.mode}. In INDEX mode it also owns the
+ * {@link ArticleSearchIndex}: builds it from the database once the application
+ * is up and keeps it in step with committed article writes.
+ */
+@Service
+public class ArticleSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSearchService.class);
+
+    // An optional operator, then a complete quoted phrase or a run of anything else but quotes
+    private static final Pattern BOOLEAN_TOKEN = Pattern.compile("([+\\-~<>]?)(\"[^\"]*\"|[^\\s\"]+)");
+
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-~<>()*\"@]+");
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private SlugUtil slugUtil;
+
+    @Value("${app.search.mode:index}")
+    private SearchMode mode;
+
+    // natural or boolean, only used in FULLTEXT mode
+    @Value("${app.search.fulltext-mode:natural}")
+    private String fulltextMode;
+
+    @Value("${app.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    private volatile ArticleSearchIndex index;
+    private volatile boolean ready;
+
+    // Articles changed while a rebuild was running; re-applied after the swap
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    // LIKE is also used in INDEX mode until the first rebuild has finished
+    public SearchMode getEffectiveMode() {
+        if (mode == SearchMode.INDEX && !ready) {
+            return SearchMode.LIKE;
+        }
+        return mode;
+    }
+
+    // Not used for LIKE, which ArticleService runs directly as a summary query
+    public Page<Long> search(String query, Pageable pageable) {
+        if (getEffectiveMode() == SearchMode.FULLTEXT) {
+            return fulltextSearch(query, pageable);
+        }
+        return indexSearch(query, pageable);
+    }
+
+    private Page<Long> fulltextSearch(String query, Pageable pageable) {
+        // Relevance order comes from the query itself, so any requested sort is dropped
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if ("boolean".equalsIgnoreCase(fulltextMode)) {
+            String booleanQuery = toBooleanQuery(query);
+            if (booleanQuery.isEmpty()) {
+                return Page.empty(unsorted);
+            }
+            return articleRepository.fulltextBooleanSearchIds(booleanQuery, unsorted);
+        }
+        return articleRepository.fulltextSearchIds(query, unsorted);
+    }
+
+    /**
+     * Rebuilds user input as a query MySQL's boolean mode parser always accepts:
+     * words with at most one leading +, -, ~, &lt; or &gt; and an optional trailing *,
+     * and balanced "quoted phrases". Grouping and @distance are not supported;
+     * operator characters anywhere else split words like any other delimiter.
+     */
+    static String toBooleanQuery(String query) {
+        StringBuilder out = new StringBuilder();
+        Matcher token = BOOLEAN_TOKEN.matcher(query);
+        while (token.find()) {
+            String operator = token.group(1);
+            String term = token.group(2);
+            if (term.startsWith("\"")) {
+                String phrase = BOOLEAN_OPERATORS.matcher(term.substring(1, term.length() - 1)).replaceAll(" ").trim();
+                if (!phrase.isEmpty()) {
+                    append(out, operator + "\"" + phrase + "\"");
+                }
+                continue;
+            }
+
+            boolean prefix = term.endsWith("*");
+            String[] words = BOOLEAN_OPERATORS.matcher(term).replaceAll(" ").trim().split("\\s+");
+            for (int i = 0; i < words.length; i++) {
+                if (!words[i].isEmpty()) {
+                    append(out, (i == 0 ? operator : "") + words[i] + (prefix && i == words.length - 1 ? "*" : ""));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void append(StringBuilder out, String term) {
+        if (!out.isEmpty()) {
+            out.append(' ');
+        }
+        out.append(term);
+    }
+
+    private Page<Long> indexSearch(String query, Pageable pageable) {
+        List<ArticleSearchIndex.Hit> hits = index.search(query);
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> pageIds = hits.subList(from, to).stream()
+                .map(ArticleSearchIndex.Hit::articleId)
+                .toList();
+
+        return new PageImpl<>(pageIds, pageable, hits.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (mode == SearchMode.INDEX) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            ArticleSearchIndex fresh = new ArticleSearchIndex(slugUtil);
+            Long afterId = 0L;
+            List<ArticleIndexView> batch;
+            do {
+                batch = articleRepository.findIndexBatch(
+                        ArticleStatus.PUBLISHED, afterId, PageRequest.ofSize(rebuildBatchSize));
+                for (ArticleIndexView article : batch) {
+                    fresh.index(article.getId(), article.getTitle(), article.getContent());
+                    afterId = article.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            index = fresh;
+            ready = true;
+            log.info("Search index built with {} published articles", fresh.size());
+        } finally {
+            rebuilding = false;
+        }
+
+        for (Long articleId : changedDuringRebuild) {
+            refresh(articleId);
+        }
+        changedDuringRebuild.clear();
+    }
+
+    @TransactionalEventListener
+    @Order(PublicResponseCache.UNDERLYING_CACHE_ORDER)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.articleId());
+        }
+        if (index == null
+                || event.type() == ArticleChangedEvent.Type.COMMENTS_CHANGED
+                || event.type() == ArticleChangedEvent.Type.IMAGE_VARIANTS_READY) {
+            return;
+        }
+
+        if (event.type() == ArticleChangedEvent.Type.DELETED) {
+            index.remove(event.articleId());
+        } else {
+            refresh(event.articleId());
+        }
+    }
+
+    private void refresh(Long articleId) {
+        ArticleIndexView article = articleRepository.findIndexViewById(articleId).orElse(null);
+        if (article == null || article.getStatus() != ArticleStatus.PUBLISHED) {
+            index.remove(articleId);
+        } else {
+            index.index(article.getId(), article.getTitle(), article.getContent());
+        }
+    }
+}
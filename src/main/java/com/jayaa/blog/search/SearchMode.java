@@ -0,0 +1,8 @@
+package com.jayaa.blog.search;
+
+// Selected with app.search.mode
+public enum SearchMode {
+    INDEX,      // in-memory BM25 index (ArticleSearchIndex)
+    FULLTEXT,   // MySQL FULLTEXT index, MATCH ... AGAINST
+    LIKE        // legacy LOWER(...) LIKE '%q%' scan
+}
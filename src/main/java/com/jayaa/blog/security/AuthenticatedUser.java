@@ -0,0 +1,17 @@
+package com.jayaa.blog.security;
+
+import java.security.Principal;
+
+/**
+ * Principal placed in the SecurityContext by {@link JwtFilter}. Carries the
+ * user id and display name from the token so services can attach authorship
+ * and render author info without loading the user row. {@code id} is null for
+ * tokens issued before the {@code uid} claim existed.
+ */
+public record AuthenticatedUser(Long id, String username, String fullName, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
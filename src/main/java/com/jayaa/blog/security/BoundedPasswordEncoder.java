@@ -0,0 +1,123 @@
+package com.jayaa.blog.security;
+
+import com.jayaa.blog.exception.ServiceUnavailableException;
+import com.jayaa.blog.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a (deliberately slow) password encoder on its own small pool instead of
+ * the calling request thread. The pool has one thread per core and a short
+ * bounded queue; when the queue is full the caller gets a 429 immediately, and
+ * a hash that hasn't finished within the timeout gives a 503. A login burst
+ * can therefore never hold more than threads + queue request threads, and
+ * never more CPU than the pool has, so the rest of the API keeps serving.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedFull;
+    private final Counter rejectedTimeout;
+
+    // threads <= 0 means one per available processor
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout, MeterRegistry registry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor_queued_tasks, executor_active_threads, ... tagged name=password-hash
+        new ExecutorServiceMetrics(executor, "password-hash", Tags.empty()).bindTo(registry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing on the password pool, excluding queue wait")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing on the password pool, excluding queue wait")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedFull = Counter.builder("auth.password.hash.rejected")
+                .tag("reason", "queue-full")
+                .register(registry);
+        this.rejectedTimeout = Counter.builder("auth.password.hash.rejected")
+                .tag("reason", "timeout")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejectedFull.increment();
+            throw new TooManyRequestsException("Too many authentication requests, please retry");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // A cancelled task that is still queued never runs, so a timed-out caller costs no CPU;
+            // removing it frees its queue slot now instead of when a worker reaches it
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            rejectedTimeout.increment();
+            throw new ServiceUnavailableException("Authentication is busy, please retry");
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Authentication was interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -30,19 +30,16 @@ public class JwtFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-
+            jwtUtil.verify(token).ifPresent(verified -> {
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                verified.user(),
                                 null,
-                                List.of(new SimpleGrantedAuthority(role))
+                                List.of(new SimpleGrantedAuthority(verified.user().role()))
                         );
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            });
         }
 
         chain.doFilter(request, response);
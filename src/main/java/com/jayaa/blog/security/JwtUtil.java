@@ -1,61 +1,122 @@
 package com.jayaa.blog.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jayaa.blog.model.User;
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
 
     private final SecretKey secretKey;
     private final long expirationMs;
 
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+
+    // Tokens that already passed signature and expiry checks, keyed by SHA-256 of the
+    // token so raw credentials are never held in memory. Each entry lives until the
+    // token's own exp. Failures are not cached, so junk tokens can't flood it.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
     public JwtUtil(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expirationMs}") long expirationMs
+            @Value("${app.jwt.expirationMs}") long expirationMs,
+            @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, VerifiedToken>creating((digest, verified) ->
+                        Duration.between(Instant.now(), verified.expiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
     }
 
-    public String generateToken(String username, String role) {
+    public record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+    }
+
+    // uid and name let requests identify and display the user without a lookup
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
-                .claim("role", role)
+                .setSubject(user.getUsername())
+                .claim("uid", user.getId())
+                .claim("name", user.getFullName())
+                .claim("role", user.getRole())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
                 .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+    // ⭐ Verify signature + expiry and extract claims in one parse; empty if invalid
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
         }
-    }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        Optional<VerifiedToken> verified = parse(token);
+        verified.ifPresent(v -> verifiedTokens.put(digest, v));
+        return verified;
     }
 
-    public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+    // Full signature check and claim extraction, bypassing the cache
+    Optional<VerifiedToken> parse(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        Date expiration = claims.getExpiration();
+        if (claims.getSubject() == null || expiration == null) {
+            return Optional.empty();
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(
+                claims.get("uid", Long.class),
+                claims.getSubject(),
+                claims.get("name", String.class),
+                claims.get("role", String.class)
+        );
+        return Optional.of(new VerifiedToken(user, expiration.toInstant()));
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,66 @@
 package com.jayaa.blog.service;
 
+import com.jayaa.blog.cache.ArticleBodyStore;
+import com.jayaa.blog.cache.ArticleJsonCache;
+import com.jayaa.blog.cache.ArticleResponseCache;
+import com.jayaa.blog.cache.JsonFragment;
 import com.jayaa.blog.dto.*;
+import com.jayaa.blog.event.ArticleChangedEvent;
 import com.jayaa.blog.exception.*;
+import com.jayaa.blog.image.ImageJobService;
+import com.jayaa.blog.image.ImageVariants;
 import com.jayaa.blog.model.*;
 import com.jayaa.blog.repository.*;
+import com.jayaa.blog.repository.projection.ArticleContentView;
+import com.jayaa.blog.repository.projection.ArticleSummaryView;
+import com.jayaa.blog.repository.projection.ArticleTagView;
+import com.jayaa.blog.search.ArticleSearchService;
+import com.jayaa.blog.search.SearchMode;
+import com.jayaa.blog.security.AuthenticatedUser;
+import com.jayaa.blog.util.CursorUtil;
 import com.jayaa.blog.util.SlugUtil;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("blog.service")
 public class ArticleService {
 
+    // Insert attempts when a concurrent create grabs the same slug
+    private static final int SLUG_INSERT_ATTEMPTS = 3;
+
     @Autowired
     private ArticleRepository articleRepository;
 
@@ -35,63 +76,152 @@ public class ArticleService {
     @Autowired
     private SlugUtil slugUtil;
 
+    @Autowired
+    private CursorUtil cursorUtil;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArticleResponseCache articleResponseCache;
+
+    @Autowired
+    private ArticleJsonCache articleJsonCache;
+
+    @Autowired
+    private ArticleBodyStore articleBodyStore;
+
+    @Autowired
+    private ImageJobService imageJobService;
+
+    @Autowired
+    private ContentCompressionService contentCompressionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // ⭐ Get all published articles (public)
     @Transactional(readOnly = true)
-    public Page<ArticleResponse> getAllPublishedArticles(Pageable pageable) {
-        Page<Article> articles = articleRepository.findByStatus(ArticleStatus.PUBLISHED, pageable);
-        return articles.map(this::convertToResponse);
+    public Page<ArticleJson> getAllPublishedArticles(Pageable pageable) {
+        return toSummaryPage(articleRepository.findSummariesByStatus(ArticleStatus.PUBLISHED, pageable));
     }
 
-    // ⭐ Get single article by slug
+    // ⭐ Cursor feed of published articles, newest first
     @Transactional(readOnly = true)
-    public ArticleResponse getArticleBySlug(String slug) {
-        Article article = articleRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Article not found"));
+    public CursorPage<ArticleJson> getPublishedFeed(String cursor, int size) {
+        // One extra row tells us whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<ArticleSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = articleRepository.findFeedFirstPage(ArticleStatus.PUBLISHED, limit);
+        } else {
+            CursorUtil.Cursor position = cursorUtil.decode(cursor);
+            rows = articleRepository.findFeedAfter(
+                    ArticleStatus.PUBLISHED, position.createdAt(), position.id(), limit);
+        }
 
-        // Increment view count
-        article.setViewCount(article.getViewCount() + 1);
-        articleRepository.save(article);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            ArticleSummaryView last = rows.get(rows.size() - 1);
+            nextCursor = cursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
 
-        return convertToResponse(article);
+        return new CursorPage<>(toSummaries(rows), nextCursor, hasNext, size);
+    }
+
+    // ⭐ Get single article by slug (read-through cache; no transaction or connection on a hit)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ArticleJson getArticleBySlug(String slug) {
+        ArticleResponse cached = articleResponseCache.get(slug, this::loadArticleResponse);
+
+        // Increment view count (buffered, flushed in the background)
+        viewCountService.recordView(cached.getId());
+
+        // Encoded once per version; the body is copied from off-heap memory and the live view count added per request
+        return new ArticleJson(
+                cached.getId(),
+                articleJsonCache.getDetail(cached),
+                viewCountService.currentViewCount(cached.getId(), cached.getViewCount()),
+                cached.getEtag(),
+                out -> writeContent(cached.getId(), cached.getContentDigest(), out));
     }
 
     // ⭐ Get articles by category
     @Transactional(readOnly = true)
-    public Page<ArticleResponse> getArticlesByCategory(Long categoryId, Pageable pageable) {
-        Page<Article> articles = articleRepository.findByCategoryId(categoryId, pageable);
-        return articles.map(this::convertToResponse);
+    public Page<ArticleJson> getArticlesByCategory(Long categoryId, Pageable pageable) {
+        return toSummaryPage(articleRepository.findSummariesByCategoryId(categoryId, pageable));
     }
 
     // ⭐ Get articles by tag
     @Transactional(readOnly = true)
-    public Page<ArticleResponse> getArticlesByTag(Long tagId, Pageable pageable) {
-        Page<Article> articles = articleRepository.findByTagId(tagId, pageable);
-        return articles.map(this::convertToResponse);
+    public Page<ArticleJson> getArticlesByTag(Long tagId, Pageable pageable) {
+        return toSummaryPage(articleRepository.findSummariesByTagId(tagId, pageable));
     }
 
-    // ⭐ Search articles
+    // ⭐ Search published articles (backend chosen by app.search.mode)
     @Transactional(readOnly = true)
-    public Page<ArticleResponse> searchArticles(String query, Pageable pageable) {
-        Page<Article> articles = articleRepository.searchArticles(query, pageable);
-        return articles.map(this::convertToResponse);
+    public Page<ArticleJson> searchArticles(String query, Pageable pageable) {
+        if (articleSearchService.getEffectiveMode() == SearchMode.LIKE) {
+            return toSummaryPage(articleRepository.searchSummaries(query, ArticleStatus.PUBLISHED, pageable));
+        }
+
+        Page<Long> hits = articleSearchService.search(query, pageable);
+        return toSummaryPage(loadSummariesInOrder(hits));
     }
 
     // ⭐ Get articles by current author
     @Transactional(readOnly = true)
-    public Page<ArticleResponse> getMyArticles(Pageable pageable) {
-        String username = getCurrentUsername();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Page<Article> articles = articleRepository.findByAuthorId(user.getId(), pageable);
-        return articles.map(this::convertToResponse);
+    public Page<ArticleJson> getMyArticles(Pageable pageable) {
+        return toSummaryPage(articleRepository.findSummariesByAuthorId(getCurrentUserId(), pageable));
     }
 
     // ⭐ CREATE ARTICLE (Complex!)
+    // Runs outside the class-level transaction so a lost slug race can retry in a fresh one
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ArticleResponse createArticle(ArticleRequest request) {
-        String username = getCurrentUsername();
-        User author = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> doCreateArticle(request));
+            } catch (DataIntegrityViolationException ex) {
+                // Another writer took the same slug between our read and insert
+                if (!isSlugConflict(ex) || attempt >= SLUG_INSERT_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    // Only a duplicate on the articles.slug unique key is worth another attempt
+    private static boolean isSlugConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                if (violation.getKind() != ConstraintViolationException.ConstraintKind.UNIQUE) {
+                    return false;
+                }
+                // MySQL names the key "articles.slug" (older servers just "slug"), H2 the indexed column
+                String constraint = String.valueOf(violation.getConstraintName()).toLowerCase(Locale.ROOT);
+                String message = String.valueOf(violation.getSQLException().getMessage()).toLowerCase(Locale.ROOT);
+                return constraint.equals("slug") || constraint.equals("articles.slug")
+                        || message.contains(".articles(slug ");
+            }
+        }
+        return false;
+    }
+
+    private ArticleResponse doCreateArticle(ArticleRequest request) {
+        // ⭐ Reference proxy: only the id is needed for the foreign key, so no SELECT
+        User author = userRepository.getReferenceById(getCurrentUserId());
 
         // Get category
         Category category = categoryRepository.findById(request.getCategoryId())
@@ -101,7 +231,7 @@ public class ArticleService {
         Article article = new Article();
         article.setTitle(request.getTitle());
         article.setSlug(generateUniqueSlug(request.getTitle()));
-        article.setContent(request.getContent());
+        contentCompressionService.setContent(article, request.getContent());
         article.setExcerpt(request.getExcerpt());
         article.setAuthor(author); // ⭐ Set relationship
         article.setCategory(category); // ⭐ Set relationship
@@ -115,16 +245,19 @@ public class ArticleService {
 
         // ⭐ Handle tags (Many-to-Many relationship!)
         if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
-            Set<Tag> tags = new HashSet<>();
-            for (Long tagId : request.getTagIds()) {
-                Tag tag = tagRepository.findById(tagId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Tag not found: " + tagId));
-                tags.add(tag);
-            }
-            article.setTags(tags);
+            article.setTags(resolveTags(request.getTagIds()));
         }
 
         Article saved = articleRepository.save(article);
+
+        // ⭐ Keep denormalized counters in step
+        categoryRepository.adjustArticleCount(category.getId(), 1);
+        if (!saved.getTags().isEmpty()) {
+            tagRepository.adjustArticleCount(tagIdsOf(saved), 1);
+        }
+
+        publishChange(saved, ArticleChangedEvent.Type.CREATED);
+
         return convertToResponse(saved);
     }
 
@@ -138,13 +271,20 @@ public class ArticleService {
 
         // Update fields
         article.setTitle(request.getTitle());
-        article.setContent(request.getContent());
+        contentCompressionService.setContent(article, request.getContent());
         article.setExcerpt(request.getExcerpt());
 
         // Update category
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        Category previousCategory = article.getCategory();
         article.setCategory(category);
+        if (previousCategory == null || !previousCategory.getId().equals(category.getId())) {
+            if (previousCategory != null) {
+                categoryRepository.adjustArticleCount(previousCategory.getId(), -1);
+            }
+            categoryRepository.adjustArticleCount(category.getId(), 1);
+        }
 
         // Update status
         if (request.getStatus() != null) {
@@ -153,17 +293,24 @@ public class ArticleService {
 
         // ⭐ Update tags (Many-to-Many)
         if (request.getTagIds() != null) {
+            Set<Long> previousTagIds = tagIdsOf(article);
+            Set<Tag> newTags = resolveTags(request.getTagIds());
             article.getTags().clear(); // Remove old tags
-            Set<Tag> newTags = new HashSet<>();
-            for (Long tagId : request.getTagIds()) {
-                Tag tag = tagRepository.findById(tagId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Tag not found: " + tagId));
-                newTags.add(tag);
-            }
             article.setTags(newTags);
+
+            Set<Long> addedTagIds = tagIdsOf(article);
+            addedTagIds.removeAll(previousTagIds);
+            previousTagIds.removeAll(request.getTagIds());
+            if (!previousTagIds.isEmpty()) {
+                tagRepository.adjustArticleCount(previousTagIds, -1);
+            }
+            if (!addedTagIds.isEmpty()) {
+                tagRepository.adjustArticleCount(addedTagIds, 1);
+            }
         }
 
         Article updated = articleRepository.save(article);
+        publishChange(updated, ArticleChangedEvent.Type.UPDATED);
         return convertToResponse(updated);
     }
 
@@ -175,7 +322,15 @@ public class ArticleService {
         // Authorization check
         checkArticleOwnership(article);
 
+        if (article.getCategory() != null) {
+            categoryRepository.adjustArticleCount(article.getCategory().getId(), -1);
+        }
+        if (!article.getTags().isEmpty()) {
+            tagRepository.adjustArticleCount(tagIdsOf(article), -1);
+        }
+
         articleRepository.delete(article);
+        publishChange(article, ArticleChangedEvent.Type.DELETED);
     }
 
     // ⭐ UPLOAD FEATURED IMAGE
@@ -185,51 +340,301 @@ public class ArticleService {
 
         checkArticleOwnership(article);
 
+        boolean changed = !filename.equals(article.getFeaturedImage());
         article.setFeaturedImage(filename);
         Article updated = articleRepository.save(article);
+
+        // ⭐ Variants of the old image no longer apply; new ones are generated after commit
+        if (changed) {
+            if (updated.getFeaturedImageVariants() != null) {
+                articleRepository.clearImageVariants(id);
+                updated.setFeaturedImageVariants(null);
+            }
+            if (ImageVariants.formatOf(filename) != null) {
+                imageJobService.enqueue(id, filename);
+            }
+        }
+        publishChange(updated, ArticleChangedEvent.Type.UPDATED);
         return convertToResponse(updated);
     }
 
     // ========== HELPER METHODS ==========
 
-    // ⭐ Get current authenticated username
-    private String getCurrentUsername() {
+    // ⭐ Get current authenticated user (built from the JWT, no query)
+    private AuthenticatedUser getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new ForbiddenException("Not authenticated");
         }
-        return auth.getName();
+        return user;
+    }
+
+    private Long getCurrentUserId() {
+        AuthenticatedUser current = getCurrentUser();
+        if (current.id() != null) {
+            return current.id();
+        }
+        // Tokens issued before the uid claim existed
+        return userRepository.findByUsername(current.username())
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     // ⭐ Check if current user owns the article
     private void checkArticleOwnership(Article article) {
-        String currentUsername = getCurrentUsername();
+        Long currentUserId = getCurrentUserId();
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         boolean isAdmin = auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ADMIN"));
 
-        if (!article.getAuthor().getUsername().equals(currentUsername) && !isAdmin) {
+        // Comparing ids doesn't initialize the lazy author
+        if (!article.getAuthor().getId().equals(currentUserId) && !isAdmin) {
             throw new ForbiddenException("You don't have permission to modify this article");
         }
     }
 
+    // Cache loader: runs once per slug even when many requests miss at the same time.
+    // The body stays out of the cached response; it is only read when ArticleBodyStore doesn't have this version.
+    private ArticleResponse loadArticleResponse(String slug) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            ArticleSummaryView row = articleRepository.findSummaryBySlug(slug)
+                    .orElseThrow(() -> new ResourceNotFoundException("Article not found"));
+            Set<ArticleResponse.TagInfo> tags = articleRepository.findTagsByArticleIds(List.of(row.getId())).stream()
+                    .map(tag -> toTagInfo(tag.getId(), tag.getName(), tag.getSlug()))
+                    .collect(Collectors.toSet());
+
+            String digest = articleBodyStore.digest(row.getId(), row.getUpdatedAt());
+            if (digest == null) {
+                ArticleContentView body = articleRepository.findContentById(row.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Article not found"));
+                digest = articleBodyStore.store(row.getId(), body.getUpdatedAt(), ArticleBodyStore.encode(body.getContent()));
+            }
+
+            ArticleResponse response = convertToResponse(row, tags);
+            response.setContentDigest(digest);
+            response.setEtag(etagOf(response));
+            response.setViewCount(row.getViewCount()); // persisted only, pending views are added per request
+            return response;
+        });
+    }
+
+    // Runs while the response is being written, after the service call; evicted bodies are read back and re-stored
+    private void writeContent(Long articleId, String digest, OutputStream out) throws IOException {
+        if (articleBodyStore.writeTo(articleId, digest, out)) {
+            return;
+        }
+        // Deleted meanwhile: the object is half written already, so finish it rather than fail
+        byte[] json = ArticleBodyStore.encode(null);
+        Optional<ArticleContentView> body = articleRepository.findContentById(articleId);
+        if (body.isPresent()) {
+            json = ArticleBodyStore.encode(body.get().getContent());
+            articleBodyStore.store(articleId, body.get().getUpdatedAt(), json);
+        }
+        out.write(json);
+    }
+
+    // Hash of everything but the view count (the body by its digest): comment counts, image variants and
+    // category or tag renames change the response without touching updated_at, which also only has second precision.
+    // Weak, because the live view count still differs between otherwise equal responses.
+    private String etagOf(ArticleResponse response) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(response.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Listeners (search index, caches) run after commit
+    private void publishChange(Article article, ArticleChangedEvent.Type type) {
+        eventPublisher.publishEvent(new ArticleChangedEvent(article.getId(), article.getSlug(), type));
+    }
+
+    private Set<Long> tagIdsOf(Article article) {
+        return article.getTags().stream()
+                .map(Tag::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    // ⭐ One query for all tags; every missing id is reported at once
+    private Set<Tag> resolveTags(Collection<Long> tagIds) {
+        Set<Tag> tags = new HashSet<>(tagRepository.findAllById(tagIds));
+        if (tags.size() < new HashSet<>(tagIds).size()) {
+            Set<Long> missing = new TreeSet<>(tagIds);
+            tags.forEach(tag -> missing.remove(tag.getId()));
+            throw new ResourceNotFoundException("Tags not found: " + missing);
+        }
+        return tags;
+    }
+
     // ⭐ Generate unique slug
+    // Fetch every taken base / base-N slug in one query and pick the lowest free suffix in memory
     private String generateUniqueSlug(String title) {
         String baseSlug = slugUtil.generateSlug(title);
-        String slug = baseSlug;
-        int attempt = 0;
+        String prefix = baseSlug + "-";
+        String prefixPattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+
+        BitSet taken = new BitSet();
+        for (String slug : articleRepository.findSlugsWithBase(baseSlug, prefixPattern)) {
+            if (slug.equals(baseSlug)) {
+                taken.set(0);
+            } else {
+                int suffix = parseSuffix(slug.substring(prefix.length()));
+                if (suffix > 0) {
+                    taken.set(suffix);
+                }
+            }
+        }
+
+        int attempt = taken.nextClearBit(0);
+        return attempt == 0 ? baseSlug : baseSlug + "-" + attempt;
+    }
+
+    // Numeric suffix of base-N, or -1 for slugs like base-something-else
+    private int parseSuffix(String suffix) {
+        if (suffix.isEmpty() || suffix.length() > 9 || suffix.charAt(0) == '0') {
+            return -1;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            char c = suffix.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(suffix);
+    }
+
+    // Summaries for a page of ids, kept in the order the ids came in
+    private Page<ArticleSummaryView> loadSummariesInOrder(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+
+        Map<Long, ArticleSummaryView> byId = articleRepository.findSummariesByIds(ids.getContent()).stream()
+                .collect(Collectors.toMap(ArticleSummaryView::getId, row -> row));
+        List<ArticleSummaryView> ordered = ids.getContent().stream()
+                .map(byId::get)
+                .filter(row -> row != null)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private Page<ArticleJson> toSummaryPage(Page<ArticleSummaryView> rows) {
+        return new PageImpl<>(toSummaries(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+    }
+
+    // ⭐ Summary rows -> pre-encoded JSON; only rows missing from the cache get tags fetched (at once) and a DTO
+    private List<ArticleJson> toSummaries(List<ArticleSummaryView> rows) {
+        Map<Long, JsonFragment> fragments = new HashMap<>();
+        List<ArticleSummaryView> missing = new ArrayList<>();
+        for (ArticleSummaryView row : rows) {
+            JsonFragment fragment = articleJsonCache.getSummary(row);
+            if (fragment != null) {
+                fragments.put(row.getId(), fragment);
+            } else {
+                missing.add(row);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Long> missingIds = missing.stream()
+                    .map(ArticleSummaryView::getId)
+                    .collect(Collectors.toList());
+            Map<Long, Set<ArticleResponse.TagInfo>> tagsByArticle = new HashMap<>();
+            for (ArticleTagView tag : articleRepository.findTagsByArticleIds(missingIds)) {
+                tagsByArticle.computeIfAbsent(tag.getArticleId(), id -> new HashSet<>())
+                        .add(toTagInfo(tag.getId(), tag.getName(), tag.getSlug()));
+            }
+            for (ArticleSummaryView row : missing) {
+                ArticleSummaryResponse summary =
+                        convertToSummary(row, tagsByArticle.getOrDefault(row.getId(), new HashSet<>()));
+                fragments.put(row.getId(), articleJsonCache.putSummary(row, summary));
+            }
+        }
+
+        return rows.stream()
+                .map(row -> new ArticleJson(
+                        row.getId(),
+                        fragments.get(row.getId()),
+                        viewCountService.currentViewCount(row.getId(), row.getViewCount()),
+                        null,
+                        null))
+                .collect(Collectors.toList());
+    }
+
+    private ArticleSummaryResponse convertToSummary(ArticleSummaryView row, Set<ArticleResponse.TagInfo> tags) {
+        ArticleSummaryResponse response = new ArticleSummaryResponse();
+        response.setId(row.getId());
+        response.setTitle(row.getTitle());
+        response.setSlug(row.getSlug());
+        response.setExcerpt(row.getExcerpt());
+        response.setFeaturedImage(row.getFeaturedImage());
+        response.setFeaturedImageVariants(ImageVariants.urls(row.getFeaturedImage(), row.getFeaturedImageVariants()));
+        response.setStatus(row.getStatus());
+        response.setViewCount(viewCountService.currentViewCount(row.getId(), row.getViewCount()));
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+
+        ArticleResponse.AuthorInfo authorInfo = new ArticleResponse.AuthorInfo();
+        authorInfo.setId(row.getAuthorId());
+        authorInfo.setUsername(row.getAuthorUsername());
+        authorInfo.setFullName(row.getAuthorFullName());
+        response.setAuthor(authorInfo);
+
+        if (row.getCategoryId() != null) {
+            ArticleResponse.CategoryInfo categoryInfo = new ArticleResponse.CategoryInfo();
+            categoryInfo.setId(row.getCategoryId());
+            categoryInfo.setName(row.getCategoryName());
+            categoryInfo.setSlug(row.getCategorySlug());
+            response.setCategory(categoryInfo);
+        }
+
+        response.setTags(tags);
+        response.setCommentCount(row.getCommentCount());
+        return response;
+    }
+
+    // Detail response from a summary row, without content
+    private ArticleResponse convertToResponse(ArticleSummaryView row, Set<ArticleResponse.TagInfo> tags) {
+        ArticleResponse response = new ArticleResponse();
+        response.setId(row.getId());
+        response.setTitle(row.getTitle());
+        response.setSlug(row.getSlug());
+        response.setExcerpt(row.getExcerpt());
+        response.setFeaturedImage(row.getFeaturedImage());
+        response.setFeaturedImageVariants(ImageVariants.urls(row.getFeaturedImage(), row.getFeaturedImageVariants()));
+        response.setStatus(row.getStatus());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
 
-        while (articleRepository.existsBySlug(slug)) {
-            attempt++;
-            slug = baseSlug + "-" + attempt;
+        ArticleResponse.AuthorInfo authorInfo = new ArticleResponse.AuthorInfo();
+        authorInfo.setId(row.getAuthorId());
+        authorInfo.setUsername(row.getAuthorUsername());
+        authorInfo.setFullName(row.getAuthorFullName());
+        response.setAuthor(authorInfo);
+
+        if (row.getCategoryId() != null) {
+            ArticleResponse.CategoryInfo categoryInfo = new ArticleResponse.CategoryInfo();
+            categoryInfo.setId(row.getCategoryId());
+            categoryInfo.setName(row.getCategoryName());
+            categoryInfo.setSlug(row.getCategorySlug());
+            response.setCategory(categoryInfo);
         }
 
-        return slug;
+        response.setTags(tags);
+        response.setCommentCount(row.getCommentCount());
+        return response;
+    }
+
+    private ArticleResponse.TagInfo toTagInfo(Long id, String name, String slug) {
+        ArticleResponse.TagInfo tagInfo = new ArticleResponse.TagInfo();
+        tagInfo.setId(id);
+        tagInfo.setName(name);
+        tagInfo.setSlug(slug);
+        return tagInfo;
     }
 
     // ⭐ CONVERT ENTITY TO DTO (Complex!)
-    private ArticleResponse convertToResponse(Article article) {
+    // Package-private for the JMH benchmark in src/jmh/java
+    ArticleResponse convertToResponse(Article article) {
         ArticleResponse response = new ArticleResponse();
         response.setId(article.getId());
         response.setTitle(article.getTitle());
@@ -237,17 +642,15 @@ public class ArticleService {
         response.setContent(article.getContent());
         response.setExcerpt(article.getExcerpt());
         response.setFeaturedImage(article.getFeaturedImage());
+        response.setFeaturedImageVariants(
+                ImageVariants.urls(article.getFeaturedImage(), article.getFeaturedImageVariants()));
         response.setStatus(article.getStatus());
-        response.setViewCount(article.getViewCount());
+        response.setViewCount(viewCountService.currentViewCount(article.getId(), article.getViewCount()));
         response.setCreatedAt(article.getCreatedAt());
         response.setUpdatedAt(article.getUpdatedAt());
 
         // ⭐ Convert author to nested DTO
-        ArticleResponse.AuthorInfo authorInfo = new ArticleResponse.AuthorInfo();
-        authorInfo.setId(article.getAuthor().getId());
-        authorInfo.setUsername(article.getAuthor().getUsername());
-        authorInfo.setFullName(article.getAuthor().getFullName());
-        response.setAuthor(authorInfo);
+        response.setAuthor(toAuthorInfo(article.getAuthor()));
 
         // ⭐ Convert category to nested DTO
         if (article.getCategory() != null) {
@@ -261,20 +664,32 @@ public class ArticleService {
         // ⭐ Convert tags to nested DTOs
         if (article.getTags() != null) {
             Set<ArticleResponse.TagInfo> tagInfos = article.getTags().stream()
-                    .map(tag -> {
-                        ArticleResponse.TagInfo tagInfo = new ArticleResponse.TagInfo();
-                        tagInfo.setId(tag.getId());
-                        tagInfo.setName(tag.getName());
-                        tagInfo.setSlug(tag.getSlug());
-                        return tagInfo;
-                    })
+                    .map(tag -> toTagInfo(tag.getId(), tag.getName(), tag.getSlug()))
                     .collect(Collectors.toSet());
             response.setTags(tagInfos);
         }
 
-        // ⭐ Count comments
-        response.setCommentCount(article.getComments() != null ? article.getComments().size() : 0);
+        // ⭐ Denormalized comment count (no collection load)
+        response.setCommentCount(article.getCommentCount());
 
         return response;
     }
-}
\ No newline at end of file
+
+    // An unloaded proxy for the current user is described from the token rather than a SELECT
+    private ArticleResponse.AuthorInfo toAuthorInfo(User author) {
+        ArticleResponse.AuthorInfo authorInfo = new ArticleResponse.AuthorInfo();
+        authorInfo.setId(author.getId());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!Hibernate.isInitialized(author)
+                && auth != null && auth.getPrincipal() instanceof AuthenticatedUser current
+                && author.getId().equals(current.id())) {
+            authorInfo.setUsername(current.username());
+            authorInfo.setFullName(current.fullName());
+        } else {
+            authorInfo.setUsername(author.getUsername());
+            authorInfo.setFullName(author.getFullName());
+        }
+        return authorInfo;
+    }
+}
@@ -4,13 +4,14 @@ import com.jayaa.blog.dto.*;
 import com.jayaa.blog.model.User;
 import com.jayaa.blog.repository.UserRepository;
 import com.jayaa.blog.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+// ⭐ Deliberately not @Transactional: no connection is held while a password is hashed
 @Service
-@Transactional
+@Timed("blog.service")
 public class AuthService {
 
     @Autowired
@@ -46,7 +47,7 @@ public class AuthService {
         userRepository.save(user);
 
         // Generate token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getUsername(), user.getEmail(), user.getRole());
     }
@@ -67,7 +68,7 @@ public class AuthService {
         }
 
         // Generate token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getUsername(), user.getEmail(), user.getRole());
     }
@@ -2,18 +2,23 @@ package com.jayaa.blog.service;
 
 import com.jayaa.blog.dto.CategoryRequest;
 import com.jayaa.blog.dto.CategoryResponse;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
 import com.jayaa.blog.exception.BadRequestException;
 import com.jayaa.blog.exception.ResourceNotFoundException;
 import com.jayaa.blog.model.Category;
 import com.jayaa.blog.repository.CategoryRepository;
+import com.jayaa.blog.repository.projection.TableVersionView;
 import com.jayaa.blog.util.SlugUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 @Service
 @Transactional
+@Timed("blog.service")
 public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
@@ -21,6 +26,9 @@ public class CategoryService {
     @Autowired
     private SlugUtil slugUtil;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -28,6 +36,12 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    // Checked before the list is loaded, so a matching If-None-Match never loads it
+    @Transactional(readOnly = true)
+    public TableVersionView getCategoriesVersion() {
+        return categoryRepository.findVersion();
+    }
+
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
@@ -47,6 +61,7 @@ public class CategoryService {
         category.setDescription(request.getDescription());
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, saved.getId()));
         return convertToResponse(saved);
     }
 
@@ -59,6 +74,7 @@ public class CategoryService {
         category.setDescription(request.getDescription());
 
         Category updated = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, id));
         return convertToResponse(updated);
     }
 
@@ -67,6 +83,7 @@ public class CategoryService {
             throw new ResourceNotFoundException("Category not found");
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Category.class, id));
     }
 
     // ⭐ Convert entity to DTO
@@ -76,7 +93,7 @@ public class CategoryService {
         response.setName(category.getName());
         response.setSlug(category.getSlug());
         response.setDescription(category.getDescription());
-        response.setArticleCount(category.getArticles() != null ? category.getArticles().size() : 0);
+        response.setArticleCount(category.getArticleCount());
         response.setCreatedAt(category.getCreatedAt());
         return response;
     }
@@ -2,18 +2,29 @@ package com.jayaa.blog.service;
 
 import com.jayaa.blog.dto.CommentRequest;
 import com.jayaa.blog.dto.CommentResponse;
+import com.jayaa.blog.dto.CursorPage;
+import com.jayaa.blog.event.ArticleChangedEvent;
 import com.jayaa.blog.exception.*;
 import com.jayaa.blog.model.*;
 import com.jayaa.blog.repository.*;
+import com.jayaa.blog.security.AuthenticatedUser;
+import com.jayaa.blog.util.CursorUtil;
+import org.hibernate.Hibernate;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
 @Service
 @Transactional
+@Timed("blog.service")
 public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
@@ -24,6 +35,12 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CursorUtil cursorUtil;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public Page<CommentResponse> getCommentsByArticle(Long articleId, Pageable pageable) {
         // Verify article exists
@@ -35,11 +52,41 @@ public class CommentService {
         return comments.map(this::convertToResponse);
     }
 
-    public CommentResponse createComment(Long articleId, CommentRequest request) {
-        String username = getCurrentUsername();
+    // ⭐ Cursor feed of an article's comments, oldest first
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getCommentFeed(Long articleId, String cursor, int size) {
+        if (!articleRepository.existsById(articleId)) {
+            throw new ResourceNotFoundException("Article not found");
+        }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Limit limit = Limit.of(size + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findFeedFirstPage(articleId, limit);
+        } else {
+            CursorUtil.Cursor position = cursorUtil.decode(cursor);
+            comments = commentRepository.findFeedAfter(articleId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = comments.size() > size;
+        if (hasNext) {
+            comments = comments.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = cursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+
+        List<CommentResponse> content = comments.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, nextCursor, hasNext, size);
+    }
+
+    public CommentResponse createComment(Long articleId, CommentRequest request) {
+        // ⭐ Reference proxy: only the id is needed for the foreign key, so no SELECT
+        User user = userRepository.getReferenceById(getCurrentUserId());
 
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Article not found"));
@@ -50,6 +97,8 @@ public class CommentService {
         comment.setUser(user); // ⭐ Set relationship
 
         Comment saved = commentRepository.save(comment);
+        articleRepository.adjustCommentCount(articleId, 1);
+        publishCommentsChanged(article.getId(), article.getSlug());
         return convertToResponse(saved);
     }
 
@@ -72,19 +121,37 @@ public class CommentService {
         checkCommentOwnership(comment);
 
         commentRepository.delete(comment);
+        articleRepository.adjustCommentCount(comment.getArticle().getId(), -1);
+        publishCommentsChanged(comment.getArticle().getId(), null);
+    }
+
+    // Comment count is part of the cached article, so listeners drop it after commit
+    private void publishCommentsChanged(Long articleId, String slug) {
+        eventPublisher.publishEvent(
+                new ArticleChangedEvent(articleId, slug, ArticleChangedEvent.Type.COMMENTS_CHANGED));
     }
 
-    private String getCurrentUsername() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new ForbiddenException("Not authenticated");
         }
-        return auth.getName();
+        return user;
+    }
+
+    private Long getCurrentUserId() {
+        AuthenticatedUser current = getCurrentUser();
+        if (current.id() != null) {
+            return current.id();
+        }
+        // Tokens issued before the uid claim existed
+        return userRepository.findByUsername(current.username())
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     private void checkCommentOwnership(Comment comment) {
-        String currentUsername = getCurrentUsername();
-        if (!comment.getUser().getUsername().equals(currentUsername)) {
+        if (!comment.getUser().getId().equals(getCurrentUserId())) {
             throw new ForbiddenException("You can only modify your own comments");
         }
     }
@@ -96,12 +163,26 @@ public class CommentService {
         response.setCreatedAt(comment.getCreatedAt());
         response.setUpdatedAt(comment.getUpdatedAt());
 
-        CommentResponse.UserInfo userInfo = new CommentResponse.UserInfo();
-        userInfo.setId(comment.getUser().getId());
-        userInfo.setUsername(comment.getUser().getUsername());
-        userInfo.setFullName(comment.getUser().getFullName());
-        response.setUser(userInfo);
+        response.setUser(toUserInfo(comment.getUser()));
 
         return response;
     }
+
+    // An unloaded proxy for the current user is described from the token rather than a SELECT
+    private CommentResponse.UserInfo toUserInfo(User user) {
+        CommentResponse.UserInfo userInfo = new CommentResponse.UserInfo();
+        userInfo.setId(user.getId());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!Hibernate.isInitialized(user)
+                && auth != null && auth.getPrincipal() instanceof AuthenticatedUser current
+                && user.getId().equals(current.id())) {
+            userInfo.setUsername(current.username());
+            userInfo.setFullName(current.fullName());
+        } else {
+            userInfo.setUsername(user.getUsername());
+            userInfo.setFullName(user.getFullName());
+        }
+        return userInfo;
+    }
 }
@@ -0,0 +1,151 @@
+package com.jayaa.blog.service;
+
+import com.jayaa.blog.model.Article;
+import com.jayaa.blog.model.ContentCodec;
+import com.jayaa.blog.search.SearchMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in compression of article bodies at rest ({@code app.articles.content-compression}).
+ * ArticleService stores new and edited bodies through {@link #setContent};
+ * the scheduled job converts rows written before compression was switched
+ * on, one short transaction per batch in id order. Reading needs no switch:
+ * Article and the content projections decode whatever codec a row carries,
+ * so turning the mode off again only stops compressing new writes.
+ * Compressed rows keep an empty content column, so the MySQL FULLTEXT and
+ * LIKE searches only see their titles; use it with {@code app.search.mode=index}.
+ */
+@Service
+public class ContentCompressionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCompressionService.class);
+
+    // Rows are locked while they are compressed, so an edit can't be overwritten with the old text
+    private static final String SELECT_BATCH =
+            "SELECT id, content FROM articles " +
+            "WHERE content_codec = 'NONE' AND id > ? AND CHAR_LENGTH(content) >= ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String COMPRESS_ROW =
+            "UPDATE articles SET content = '', content_compressed = ?, content_codec = ?, updated_at = updated_at " +
+            "WHERE id = ?";
+
+    // Bodies that shrink less than this stay plain; decompressing them on every read wouldn't pay
+    private static final double MIN_SAVING = 0.1;
+
+    private record Candidate(long id, String content) {
+    }
+
+    private record Batch(int scanned, long lastId, int rows, long bytesBefore, long bytesAfter) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.articles.content-compression:none}")
+    private ContentCodec codec;
+
+    @Value("${app.articles.compression-min-size:1KB}")
+    private DataSize minSize;
+
+    @Value("${app.articles.compression-batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.search.mode:index}")
+    private SearchMode searchMode;
+
+    // Every row up to here has been looked at since startup; later ones were written through setContent
+    private volatile long scannedUpTo;
+
+    public void setContent(Article article, String content) {
+        byte[] compressed = compress(content);
+        if (compressed != null) {
+            article.setCompressedContent(content, codec, compressed);
+        } else {
+            article.setContent(content);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (codec != ContentCodec.NONE && searchMode != SearchMode.INDEX) {
+            log.warn("Article content compression is on with search mode {}: compressed articles only match by title",
+                    searchMode);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.articles.compression-interval-ms:600000}",
+            initialDelayString = "${app.articles.compression-initial-delay-ms:60000}")
+    public void compressExisting() {
+        if (codec == ContentCodec.NONE) {
+            return;
+        }
+
+        long rows = 0;
+        long before = 0;
+        long after = 0;
+        Batch batch;
+        do {
+            long afterId = scannedUpTo;
+            batch = transactionTemplate.execute(status -> compressBatch(afterId));
+            scannedUpTo = batch.lastId();
+            rows += batch.rows();
+            before += batch.bytesBefore();
+            after += batch.bytesAfter();
+        } while (batch.scanned() == batchSize);
+
+        if (rows > 0) {
+            log.info("Compressed {} article bodies, {} KB -> {} KB", rows, before / 1024, after / 1024);
+        }
+    }
+
+    private Batch compressBatch(long afterId) {
+        List<Candidate> candidates = jdbcTemplate.query(SELECT_BATCH,
+                (rs, rowNum) -> new Candidate(rs.getLong("id"), rs.getString("content")),
+                afterId, minSize.toBytes(), batchSize);
+
+        long lastId = afterId;
+        long before = 0;
+        long after = 0;
+        List<Object[]> updates = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            lastId = candidate.id();
+            byte[] compressed = compress(candidate.content());
+            if (compressed != null) {
+                updates.add(new Object[]{compressed, codec.name(), candidate.id()});
+                before += candidate.content().getBytes(StandardCharsets.UTF_8).length;
+                after += compressed.length;
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(COMPRESS_ROW, updates);
+        }
+        return new Batch(candidates.size(), lastId, updates.size(), before, after);
+    }
+
+    // Null when the body should be stored as is
+    private byte[] compress(String content) {
+        if (codec == ContentCodec.NONE || content == null || content.length() < minSize.toBytes()) {
+            return null;
+        }
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = ContentCodec.deflate(utf8);
+        return compressed.length <= utf8.length * (1 - MIN_SAVING) ? compressed : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.jayaa.blog.service;
+
+import com.jayaa.blog.cache.SecondLevelCacheEvictor;
+import com.jayaa.blog.model.Category;
+import com.jayaa.blog.model.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+
+/**
+ * Recomputes the denormalized counters (articles.comment_count,
+ * categories.article_count, tags.article_count) from the source tables.
+ * Incremental maintenance lives in ArticleService and CommentService; this
+ * job fixes drift from paths that bypass them, such as ON DELETE CASCADE.
+ * Work is done in id ranges, one short transaction per chunk, and only rows
+ * whose counter is actually wrong are written.
+ */
+@Service
+public class CounterRepairService {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterRepairService.class);
+
+    private static final String COMMENT_COUNT = "(SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id)";
+    private static final String CATEGORY_ARTICLE_COUNT = "(SELECT COUNT(*) FROM articles a WHERE a.category_id = c.id)";
+    private static final String TAG_ARTICLE_COUNT = "(SELECT COUNT(*) FROM article_tags at WHERE at.tag_id = t.id)";
+
+    private static final String REPAIR_ARTICLES =
+            "UPDATE articles a SET comment_count = " + COMMENT_COUNT + ", updated_at = updated_at " +
+            "WHERE a.id BETWEEN ? AND ? AND a.comment_count <> " + COMMENT_COUNT;
+
+    private static final String REPAIR_CATEGORIES =
+            "UPDATE categories c SET article_count = " + CATEGORY_ARTICLE_COUNT + ", updated_at = ? " +
+            "WHERE c.id BETWEEN ? AND ? AND c.article_count <> " + CATEGORY_ARTICLE_COUNT;
+
+    private static final String REPAIR_TAGS =
+            "UPDATE tags t SET article_count = " + TAG_ARTICLE_COUNT + ", updated_at = ? " +
+            "WHERE t.id BETWEEN ? AND ? AND t.article_count <> " + TAG_ARTICLE_COUNT;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Value("${app.counters.repair-chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.counters.repair-cron:0 30 3 * * *}")
+    public void repairAll() {
+        int articles = repairTable("articles", REPAIR_ARTICLES, false);
+        // Article counts are part of the category and tag lists, so a repair moves their version
+        int categories = repairTable("categories", REPAIR_CATEGORIES, true);
+        int tags = repairTable("tags", REPAIR_TAGS, true);
+
+        // Plain JDBC writes are invisible to the second-level cache
+        if (categories > 0) {
+            secondLevelCacheEvictor.evictAll(Category.class);
+        }
+        if (tags > 0) {
+            secondLevelCacheEvictor.evictAll(Tag.class);
+        }
+
+        if (articles + categories + tags > 0) {
+            log.info("Counter repair fixed {} articles, {} categories, {} tags", articles, categories, tags);
+        }
+    }
+
+    private int repairTable(String table, String repairSql, boolean stampUpdatedAt) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+
+        int repaired = 0;
+        for (long start = 1; start <= maxId; start += chunkSize) {
+            long from = start;
+            long to = start + chunkSize - 1;
+            Object[] args = stampUpdatedAt
+                    ? new Object[]{LocalDateTime.now(), from, to}
+                    : new Object[]{from, to};
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(repairSql, args));
+            repaired += rows != null ? rows : 0;
+        }
+        return repaired;
+    }
+}
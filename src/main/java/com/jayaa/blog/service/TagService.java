@@ -2,12 +2,16 @@ package com.jayaa.blog.service;
 
 import com.jayaa.blog.dto.TagRequest;
 import com.jayaa.blog.dto.TagResponse;
+import com.jayaa.blog.event.ReferenceDataChangedEvent;
 import com.jayaa.blog.exception.BadRequestException;
 import com.jayaa.blog.exception.ResourceNotFoundException;
 import com.jayaa.blog.model.Tag;
 import com.jayaa.blog.repository.TagRepository;
+import com.jayaa.blog.repository.projection.TableVersionView;
 import com.jayaa.blog.util.SlugUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -15,6 +19,7 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("blog.service")
 public class TagService {
 
     @Autowired
@@ -23,6 +28,9 @@ public class TagService {
     @Autowired
     private SlugUtil slugUtil;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public List<TagResponse> getAllTags() {
         return tagRepository.findAll().stream()
@@ -30,6 +38,12 @@ public class TagService {
                 .collect(Collectors.toList());
     }
 
+    // Checked before the list is loaded, so a matching If-None-Match never loads it
+    @Transactional(readOnly = true)
+    public TableVersionView getTagsVersion() {
+        return tagRepository.findVersion();
+    }
+
     @Transactional(readOnly = true)
     public TagResponse getTagById(Long id) {
         Tag tag = tagRepository.findById(id)
@@ -47,6 +61,7 @@ public class TagService {
         tag.setSlug(slugUtil.generateSlug(request.getName()));
 
         Tag saved = tagRepository.save(tag);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Tag.class, saved.getId()));
         return convertToResponse(saved);
     }
 
@@ -55,6 +70,7 @@ public class TagService {
             throw new ResourceNotFoundException("Tag not found");
         }
         tagRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Tag.class, id));
     }
 
     private TagResponse convertToResponse(Tag tag) {
@@ -62,7 +78,7 @@ public class TagService {
         response.setId(tag.getId());
         response.setName(tag.getName());
         response.setSlug(tag.getSlug());
-        response.setArticleCount(tag.getArticles() != null ? tag.getArticles().size() : 0);
+        response.setArticleCount(tag.getArticleCount());
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.jayaa.blog.service;
+
+import com.jayaa.blog.image.ImageVariants;
+import com.jayaa.blog.repository.ArticleRepository;
+import com.jayaa.blog.util.FileStorageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Garbage-collects image blobs that no article references any more.
+ * References are counted from articles.featured_image at sweep time (mark),
+ * then every unreferenced blob older than the grace period is deleted (sweep);
+ * image variants count as referenced while their source is.
+ * The grace period covers uploads whose article update has not committed yet:
+ * storing or re-uploading a blob refreshes its mtime, and FileStorageUtil
+ * does that under the same lock as the delete, so a blob that is about to be
+ * referenced is never removed. Abandoned temp files are swept the same way.
+ */
+@Service
+public class UploadCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadCleanupService.class);
+
+    @Autowired
+    private FileStorageUtil fileStorageUtil;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${app.uploads.sweep-grace:1h}")
+    private Duration grace;
+
+    @Scheduled(
+            fixedDelayString = "${app.uploads.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.uploads.sweep-interval-ms:3600000}"
+    )
+    public void sweep() {
+        // Cutoff first: anything touched after it survives even if the reference read misses it
+        Instant cutoff = Instant.now().minus(grace);
+        // A variant lives as long as its source, so references are kept as source stems
+        Set<String> referenced = new HashSet<>();
+        for (String image : articleRepository.findReferencedImages()) {
+            referenced.add(ImageVariants.sourceStem(image));
+        }
+
+        int deleted = 0;
+        int kept = 0;
+        try {
+            for (Path blob : fileStorageUtil.listBlobs()) {
+                if (referenced.contains(ImageVariants.sourceStem(blob.getFileName().toString()))) {
+                    kept++;
+                } else if (fileStorageUtil.deleteIfOlderThan(blob, cutoff)) {
+                    deleted++;
+                }
+            }
+            for (Path temp : fileStorageUtil.listTempFiles()) {
+                fileStorageUtil.deleteIfOlderThan(temp, cutoff);
+            }
+        } catch (IOException ex) {
+            log.warn("Upload sweep stopped after deleting {} blobs", deleted, ex);
+            return;
+        }
+
+        log.info("Upload sweep: {} blobs referenced, {} unreferenced blobs deleted", kept, deleted);
+    }
+}
@@ -0,0 +1,144 @@
+package com.jayaa.blog.service;
+
+import com.jayaa.blog.event.ViewCountsFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind view counter. Reads only bump an in-memory {@link LongAdder}
+ * per article; a scheduled flush turns the accumulated deltas into one
+ * batched {@code UPDATE ... view_count = view_count + ?} per dirty article.
+ */
+@Service
+public class ViewCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountService.class);
+
+    // updated_at is assigned to itself so MySQL's ON UPDATE CURRENT_TIMESTAMP doesn't fire
+    private static final String INCREMENT_SQL =
+            "UPDATE articles SET view_count = view_count + ?, updated_at = updated_at WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // ⭐ Hot path: no locks, no database access
+    public void recordView(Long articleId) {
+        add(articleId, 1);
+    }
+
+    // Views recorded but not yet written to the database
+    public long getPendingViews(Long articleId) {
+        LongAdder counter = pending.get(articleId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    // Persisted count plus whatever is still waiting for the next flush
+    public int currentViewCount(Long articleId, Integer persisted) {
+        long total = (persisted != null ? persisted : 0) + getPendingViews(articleId);
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.view-count.flush-interval-ms:5000}",
+            initialDelayString = "${app.view-count.flush-interval-ms:5000}"
+    )
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<Object[]> batch = new ArrayList<>(deltas.size());
+            deltas.forEach((articleId, delta) -> batch.add(new Object[]{delta, articleId}));
+
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INCREMENT_SQL, batch));
+            } catch (DataAccessException ex) {
+                // Nothing was committed, so hand the deltas back for the next attempt
+                deltas.forEach(this::add);
+                log.warn("Could not flush view counts for {} articles, will retry", deltas.size(), ex);
+                return;
+            }
+
+            eventPublisher.publishEvent(new ViewCountsFlushedEvent(new HashSet<>(deltas.keySet())));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        flush();
+    }
+
+    private void add(Long articleId, long delta) {
+        while (true) {
+            LongAdder counter = pending.get(articleId);
+            if (counter == null) {
+                counter = pending.computeIfAbsent(articleId, id -> new LongAdder());
+            }
+            counter.add(delta);
+
+            // drain() may have dropped this counter as idle between the lookup and the add;
+            // whatever it still holds would never be flushed, so move it to the live one
+            if (pending.get(articleId) == counter) {
+                return;
+            }
+            delta = counter.sumThenReset();
+            if (delta == 0) {
+                return;
+            }
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long articleId = entry.getKey();
+            LongAdder counter = entry.getValue();
+            long delta = counter.sumThenReset();
+            if (delta != 0) {
+                deltas.put(articleId, delta);
+                continue;
+            }
+
+            // Idle for a whole interval: drop the counter so the map stays bounded
+            // by the set of recently read articles, then pick up any late increments;
+            // add() moves the ones that land after this to a fresh counter.
+            pending.remove(articleId, counter);
+            long late = counter.sumThenReset();
+            if (late != 0) {
+                deltas.merge(articleId, late, Long::sum);
+            }
+        }
+        return deltas;
+    }
+}
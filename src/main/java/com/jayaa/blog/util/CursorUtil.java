@@ -0,0 +1,36 @@
+package com.jayaa.blog.util;
+
+import com.jayaa.blog.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes the (created_at, id) position of the last row of a keyset page as
+ * an opaque URL-safe token, and decodes it back for the next request.
+ */
+@Component
+public class CursorUtil {
+
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    public String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -1,22 +1,73 @@
 package com.jayaa.blog.util;
 
+import com.jayaa.blog.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * Content-addressed image store. An upload is streamed to a temp file while
+ * its SHA-256 is computed, then moved atomically to {@code <sha256>.<ext>}.
+ * If that blob already exists the temp file is simply dropped, so duplicate
+ * uploads cost no disk space and, since the temp data is deleted before it
+ * is ever flushed, next to no write I/O. Blobs are never deleted on
+ * replacement; {@code UploadCleanupService} sweeps the unreferenced ones.
+ */
 @Component
 public class FileStorageUtil {
 
+    private static final String TEMP_DIR = ".tmp";
+
+    // <sha256>.<ext>, <uuid>.<ext> for files stored before content addressing, or <stem>-w<width>.<ext> variants
+    private static final Pattern STORED_NAME =
+            Pattern.compile("[0-9a-fA-F-]{32,64}(-w[0-9]{1,5})?(\\.[a-zA-Z0-9]{1,10})?");
+
+    // Extension is derived from the content type so identical bytes always get the same name;
+    // other types are refused, a client-chosen extension would decide the type the file is served with
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp",
+            "image/svg+xml", ".svg",
+            "image/bmp", ".bmp"
+    );
+
     private final Path uploadPath;
+    private final Path tempPath;
+
+    // Serializes "blob is still there, keep it" (dedupe) against "blob is unused, delete it" (sweep)
+    private final ReentrantLock blobLock = new ReentrantLock();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     public FileStorageUtil(@Value("${file.upload-dir}") String uploadDir) {
         this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempPath = uploadPath.resolve(TEMP_DIR);
         try {
-            Files.createDirectories(this.uploadPath);
+            Files.createDirectories(this.tempPath);
         } catch (IOException ex) {
             throw new RuntimeException("Could not create upload directory", ex);
         }
@@ -25,43 +76,152 @@ public class FileStorageUtil {
     public String storeFile(MultipartFile file) {
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
 
+        // Validate file
+        if (originalFilename.contains("..")) {
+            throw new RuntimeException("Invalid file path: " + originalFilename);
+        }
+
+        // Validate file type (images only)
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new RuntimeException("Only image files are allowed");
+        }
+        String extension = EXTENSIONS.get(contentType.toLowerCase());
+        if (extension == null) {
+            throw new RuntimeException("Unsupported image type: " + contentType);
+        }
+
+        Path temp = tempPath.resolve(UUID.randomUUID() + ".part");
         try {
-            // Validate file
-            if (originalFilename.contains("..")) {
-                throw new RuntimeException("Invalid file path: " + originalFilename);
-            }
+            // ⭐ One pass: hash while copying to the temp file
+            MessageDigest digest = sha256();
+            String storedFilename;
+            Path target;
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                size = in.transferTo(out);
 
-            // Validate file type (images only)
-            String contentType = file.getContentType();
-            if (contentType == null || !contentType.startsWith("image/")) {
-                throw new RuntimeException("Only image files are allowed");
-            }
+                storedFilename = HexFormat.of().formatHex(digest.digest()) + extension;
+                target = uploadPath.resolve(storedFilename);
+                if (keepExisting(target)) {
+                    meterRegistry.counter("blog.uploads", "result", "deduplicated").increment();
+                    return storedFilename;
+                }
 
-            // Generate unique filename
-            String extension = "";
-            int dotIndex = originalFilename.lastIndexOf('.');
-            if (dotIndex > 0) {
-                extension = originalFilename.substring(dotIndex);
+                // Durable before it becomes visible under its hash, or a crash could leave a truncated blob
+                channel.force(false);
             }
-            String storedFilename = UUID.randomUUID().toString() + extension;
-
-            // Copy file
-            Path targetLocation = uploadPath.resolve(storedFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
 
+            // An identical concurrent upload may win the race; the content is the same either way
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            meterRegistry.counter("blog.uploads", "result", "stored").increment();
+            meterRegistry.counter("blog.uploads.bytes").increment(size);
             return storedFilename;
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file: " + originalFilename, ex);
+        } finally {
+            deleteQuietly(temp);
         }
     }
 
-    public void deleteFile(String filename) {
+    // Writes a file to a temp path; the caller decides the bytes, the store decides where they go
+    @FunctionalInterface
+    public interface BlobWriter {
+        void write(Path temp) throws IOException;
+    }
+
+    // Stores a file derived from a blob (e.g. an image variant) under a deterministic name
+    public void storeDerived(String filename, BlobWriter writer) throws IOException {
+        Path temp = tempPath.resolve(UUID.randomUUID() + ".part");
         try {
-            Path filePath = uploadPath.resolve(filename).normalize();
-            Files.deleteIfExists(filePath);
-        } catch (IOException ex) {
-            // Log error but don't throw exception
-            System.err.println("Could not delete file: " + filename);
+            writer.write(temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(false);
+            }
+            Files.move(temp, uploadPath.resolve(filename), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // Like keepExisting for uploads: true (and the sweep's grace period restarted) if the file is there
+    public boolean touchIfExists(String filename) throws IOException {
+        return keepExisting(uploadPath.resolve(filename));
+    }
+
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    // Path of a stored blob; anything that is not a stored name (including traversal) is a 404
+    public Path resolveStored(String filename) {
+        if (!STORED_NAME.matcher(filename).matches()) {
+            throw new ResourceNotFoundException("Image not found: " + filename);
+        }
+        Path file = uploadPath.resolve(filename);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Image not found: " + filename);
+        }
+        return file;
+    }
+
+    // Stored blobs, excluding the temp directory
+    public List<Path> listBlobs() throws IOException {
+        try (Stream<Path> files = Files.list(uploadPath)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    // Temp files left behind by uploads that died half way
+    public List<Path> listTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempPath)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    // Deletes the file unless it was touched (stored or deduplicated) at or after the cutoff
+    public boolean deleteIfOlderThan(Path file, Instant cutoff) throws IOException {
+        blobLock.lock();
+        try {
+            if (!Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+            return Files.deleteIfExists(file);
+        } catch (NoSuchFileException ex) {
+            return false;
+        } finally {
+            blobLock.unlock();
+        }
+    }
+
+    // Refreshes the mtime of an existing blob so the sweeper's grace period starts over
+    private boolean keepExisting(Path target) throws IOException {
+        blobLock.lock();
+        try {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        } finally {
+            blobLock.unlock();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // A leftover temp file is removed by the next sweep
         }
     }
-}
\ No newline at end of file
+}
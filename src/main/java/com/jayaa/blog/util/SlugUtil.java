@@ -2,40 +2,149 @@ package com.jayaa.blog.util;
 
 import org.springframework.stereotype.Component;
 import java.text.Normalizer;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
+/**
+ * Slugs are built in one pass over the input's code points. ASCII is mapped
+ * inline; any other code point is looked up in a residue table that records
+ * what the original lowercase + NFD + strip-marks + regex pipeline left of it
+ * (almost always nothing, or one ASCII letter for accented Latin). Table blocks
+ * of 256 code points are computed from that pipeline on first use, so the
+ * output matches it exactly without normalizing whole strings per call.
+ */
 @Component
 public class SlugUtil {
 
-    private static final Pattern NON_LATIN = Pattern.compile("[^\\w-]");
-    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    private static final int BLOCK_BITS = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+    // Residue entries: 0 = dropped, MULTI = more than one char (resolved per call), else the char itself
+    private static final char NONE = 0;
+    private static final char MULTI = '\uffff';
+
+    private static final AtomicReferenceArray<char[]> RESIDUE_BLOCKS =
+            new AtomicReferenceArray<>((Character.MAX_CODE_POINT + 1) >> BLOCK_BITS);
 
     public String generateSlug(String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
 
-        // Convert to lowercase
-        String slug = input.toLowerCase(Locale.ENGLISH);
+        char[] out = new char[input.length()];
+        int length = 0;
+
+        for (int i = 0; i < input.length(); ) {
+            char c = input.charAt(i);
+            if (c < 0x80) {
+                // ⭐ ASCII fast path: no normalization needed
+                i++;
+                length = append(out, length, asciiResidue(c));
+                continue;
+            }
+
+            int codePoint = input.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            char residue = residue(codePoint);
+            if (residue == MULTI) {
+                for (char r : computeResidue(codePoint).toCharArray()) {
+                    out = ensureCapacity(out, length + 1);
+                    length = append(out, length, r);
+                }
+            } else {
+                // A code point is one or two chars and leaves at most one, so out has room
+                length = append(out, length, residue);
+            }
+        }
 
-        // Remove accents
-        slug = Normalizer.normalize(slug, Normalizer.Form.NFD);
-        slug = slug.replaceAll("\\p{M}", "");
+        // Remove trailing hyphen (leading ones are never appended)
+        if (length > 0 && out[length - 1] == '-') {
+            length--;
+        }
+        return new String(out, 0, length);
+    }
+
+    // Lowercase + strip accents; shared by slugs and search tokens so both normalize text the same way
+    public String fold(String input) {
+        String folded = Normalizer.normalize(input.toLowerCase(Locale.ENGLISH), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(folded).replaceAll("");
+    }
+
+    // Appends one surviving char, collapsing hyphen runs and skipping a leading hyphen
+    private static int append(char[] out, int length, char c) {
+        if (c == NONE) {
+            return length;
+        }
+        if (c == '-' && (length == 0 || out[length - 1] == '-')) {
+            return length;
+        }
+        out[length] = c;
+        return length + 1;
+    }
 
-        // Replace spaces with hyphens
-        slug = WHITESPACE.matcher(slug).replaceAll("-");
+    private static char[] ensureCapacity(char[] out, int needed) {
+        return needed <= out.length ? out : Arrays.copyOf(out, Math.max(needed, out.length * 2));
+    }
 
-        // Remove non-latin characters except hyphens
-        slug = NON_LATIN.matcher(slug).replaceAll("");
+    // What the legacy pipeline keeps of an ASCII char: [a-z0-9_-], whitespace as '-', upper case folded
+    private static char asciiResidue(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-') {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r') {
+            return '-';
+        }
+        return NONE;
+    }
 
-        // Remove multiple hyphens
-        slug = slug.replaceAll("-+", "-");
+    private static char residue(int codePoint) {
+        int blockIndex = codePoint >> BLOCK_BITS;
+        char[] block = RESIDUE_BLOCKS.get(blockIndex);
+        if (block == null) {
+            // Racing threads compute identical blocks, so whichever lands is fine
+            block = new char[BLOCK_SIZE];
+            int first = blockIndex << BLOCK_BITS;
+            for (int offset = 0; offset < BLOCK_SIZE; offset++) {
+                String residue = computeResidue(first + offset);
+                block[offset] = residue.isEmpty() ? NONE : residue.length() == 1 ? residue.charAt(0) : MULTI;
+            }
+            RESIDUE_BLOCKS.set(blockIndex, block);
+        }
+        return block[codePoint & (BLOCK_SIZE - 1)];
+    }
 
-        // Remove leading and trailing hyphens
-        slug = slug.replaceAll("^-|-$", "");
+    // Runs one code point through the original lowercase + NFD + strip-marks + filter steps
+    private static String computeResidue(int codePoint) {
+        if (codePoint < 0x80) {
+            char c = asciiResidue((char) codePoint);
+            return c == NONE ? "" : String.valueOf(c);
+        }
+        if (Character.getType(codePoint) == Character.SURROGATE) {
+            return "";
+        }
 
-        return slug;
+        String folded = Normalizer.normalize(
+                new String(Character.toChars(codePoint)).toLowerCase(Locale.ENGLISH), Normalizer.Form.NFD);
+        StringBuilder residue = new StringBuilder(1);
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (c < 0x80) {
+                // Case is not folded again here: the legacy pipeline lowercased before NFD
+                char kept = (c >= 'A' && c <= 'Z') ? c : asciiResidue(c);
+                if (kept != NONE) {
+                    residue.append(kept);
+                }
+            }
+        }
+        return residue.toString();
     }
 
     // Generate unique slug by appending number if needed
@@ -0,0 +1,15 @@
+-- Denormalized counters so list endpoints never initialize child collections
+ALTER TABLE articles ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN article_count INT NOT NULL DEFAULT 0;
+ALTER TABLE tags ADD COLUMN article_count INT NOT NULL DEFAULT 0;
+
+-- Backfill (updated_at is assigned to itself so the backfill doesn't bump it)
+UPDATE articles a
+SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id),
+    updated_at = updated_at;
+
+UPDATE categories c
+SET article_count = (SELECT COUNT(*) FROM articles a WHERE a.category_id = c.id);
+
+UPDATE tags t
+SET article_count = (SELECT COUNT(*) FROM article_tags at WHERE at.tag_id = t.id);
@@ -0,0 +1,3 @@
+-- FULLTEXT index for app.search.mode=fulltext (MATCH ... AGAINST).
+-- InnoDB ignores words shorter than innodb_ft_min_token_size (default 3) and its stopword list.
+ALTER TABLE articles ADD FULLTEXT INDEX ft_articles_title_content (title, content);
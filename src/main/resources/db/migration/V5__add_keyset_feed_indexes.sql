@@ -0,0 +1,4 @@
+-- Seek indexes for the cursor feeds: equality column first, then (created_at, id)
+-- so "WHERE status = ? AND (created_at, id) < (?, ?)" is a single range scan
+CREATE INDEX idx_articles_status_created ON articles (status, created_at, id);
+CREATE INDEX idx_comments_article_created ON comments (article_id, created_at, id);
@@ -0,0 +1,16 @@
+-- Widths of the downscaled copies of featured_image (e.g. "320,768,1280"), set by the image worker
+ALTER TABLE articles ADD COLUMN featured_image_variants VARCHAR(64);
+
+-- Persistent queue for variant generation; survives restarts, claimed one row at a time
+CREATE TABLE image_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    article_id BIGINT NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(512),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
+    INDEX idx_image_jobs_status (status, id)
+) ENGINE=InnoDB;
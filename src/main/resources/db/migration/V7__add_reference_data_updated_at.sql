@@ -0,0 +1,9 @@
+-- Version stamps for conditional GET on the category and tag lists.
+-- Microsecond precision so two changes in the same second still differ; the
+-- application writes every value (entity updates and the counter bulk updates
+-- alike), so there is deliberately no ON UPDATE clause and only one clock.
+ALTER TABLE categories ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+ALTER TABLE tags ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
+CREATE INDEX idx_tags_updated_at ON tags (updated_at);
@@ -0,0 +1,8 @@
+-- Opt-in compression of article bodies at rest (app.articles.content-compression).
+-- content_codec says where the text is: NONE in content as before, DEFLATE as a
+-- zlib stream of its UTF-8 bytes in content_compressed, with content left empty.
+-- Only rows that shrink by at least 10% are compressed, so BLOB (64KB) always
+-- holds what came out of a TEXT (64KB) value.
+ALTER TABLE articles
+    ADD COLUMN content_compressed BLOB,
+    ADD COLUMN content_codec VARCHAR(16) NOT NULL DEFAULT 'NONE';
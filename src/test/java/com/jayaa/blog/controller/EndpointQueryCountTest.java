@@ -0,0 +1,437 @@
+package com.jayaa.blog.controller;
+
+import com.jayaa.blog.cache.ArticleResponseCache;
+import com.jayaa.blog.model.*;
+import com.jayaa.blog.repository.*;
+import com.jayaa.blog.search.ArticleSearchService;
+import com.jayaa.blog.security.JwtUtil;
+import com.jayaa.blog.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL statements each endpoint issues against a
+ * realistic dataset (pages of 10 articles, each with tags and comments by
+ * different users). A lazy association touched per row, or a repository
+ * call inside a loop, pushes the count over the limit and fails the build.
+ * When a change legitimately needs another statement, raise the limit in
+ * the same commit and say why.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+
+    private static final String CONTENT =
+            "Lazy associations make it easy to add a query per row without noticing. ".repeat(3);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
+    @Autowired
+    private ArticleResponseCache articleResponseCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User author;
+    private String authorToken;
+    private String adminToken;
+    private Category category;
+    private final List<Tag> tags = new ArrayList<>();
+    private final List<Article> articles = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        author = user("author", "ROLE_AUTHOR");
+        User admin = user("admin", "ROLE_ADMIN");
+        authorToken = jwtUtil.generateToken(author);
+        adminToken = jwtUtil.generateToken(admin);
+
+        category = new Category();
+        category.setName("Engineering");
+        category.setSlug("engineering");
+        categoryRepository.save(category);
+
+        for (int i = 1; i <= 5; i++) {
+            Tag tag = new Tag();
+            tag.setName("Tag " + i);
+            tag.setSlug("tag-" + i);
+            tags.add(tagRepository.save(tag));
+        }
+
+        for (int i = 1; i <= 12; i++) {
+            Article article = new Article();
+            article.setTitle("Query budget article " + i);
+            article.setSlug("query-budget-article-" + i);
+            article.setContent(CONTENT);
+            article.setStatus(ArticleStatus.PUBLISHED);
+            article.setAuthor(i % 2 == 0 ? author : admin);
+            article.setCategory(category);
+            article.setTags(new HashSet<>(tags.subList(i % 3, i % 3 + 3)));
+            article.setCommentCount(3);
+            articles.add(articleRepository.save(article));
+
+            for (int c = 0; c < 3; c++) {
+                Comment comment = new Comment();
+                comment.setArticle(article);
+                comment.setUser(c % 2 == 0 ? author : admin);
+                comment.setContent("Comment " + c + " on article " + i);
+                commentRepository.save(comment);
+            }
+        }
+
+        articleSearchService.rebuild();
+    }
+
+    // ========== ARTICLES ==========
+
+    @Test
+    void listPublishedArticles() throws Exception {
+        // Authenticated, so the public response cache is bypassed and the service layer is measured
+        assertMaxStatements(3, get("/api/articles").param("size", "10")
+                .header("Authorization", "Bearer " + authorToken));
+
+        // Repeat reads splice the encoded fragments: page and count only, no tag query
+        assertMaxStatements(2, get("/api/articles").param("size", "10")
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    @Test
+    void anonymousRepeatReadIsServedCompressed() throws Exception {
+        assertMaxStatements(3, get("/api/articles").param("size", "5"));
+
+        // Whole response from the public response cache, already gzipped
+        assertMaxStatements(0, get("/api/articles").param("size", "5").header("Accept-Encoding", "gzip"));
+        mvc.perform(get("/api/articles").param("size", "5").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void publishedFeed() throws Exception {
+        assertMaxStatements(2, get("/api/articles/feed").param("size", "10"));
+    }
+
+    @Test
+    void articleBySlug() throws Exception {
+        String slug = articles.get(0).getSlug();
+        articleResponseCache.invalidate(slug);
+        // Authenticated, so the public response cache is bypassed and the article cache is measured
+        assertMaxStatements(4, get("/api/articles/slug/" + slug)
+                .header("Authorization", "Bearer " + authorToken));
+
+        // Second read is served from the article cache
+        assertMaxStatements(0, get("/api/articles/slug/" + slug)
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    @Test
+    void articleBySlugNotModified() throws Exception {
+        String slug = articles.get(1).getSlug();
+        String etag = mvc.perform(get("/api/articles/slug/" + slug))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotModified(0, get("/api/articles/slug/" + slug).header("If-None-Match", etag));
+    }
+
+    @Test
+    void articlesByCategory() throws Exception {
+        assertMaxStatements(3, get("/api/articles/category/" + category.getId()).param("size", "10"));
+    }
+
+    @Test
+    void articlesByTag() throws Exception {
+        assertMaxStatements(3, get("/api/articles/tag/" + tags.get(2).getId()).param("size", "10"));
+    }
+
+    @Test
+    void searchArticles() throws Exception {
+        assertMaxStatements(2, get("/api/articles/search").param("q", "budget").param("size", "10"));
+    }
+
+    @Test
+    void myArticles() throws Exception {
+        assertMaxStatements(2, get("/api/articles/my-articles").param("size", "10")
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    @Test
+    void createArticleWithFiveTags() throws Exception {
+        assertMaxStatements(8, post("/api/articles")
+                .header("Authorization", "Bearer " + authorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(articleJson("Created under budget", tagIds(tags))));
+    }
+
+    @Test
+    void updateArticleTags() throws Exception {
+        Article article = articles.get(1); // written by author
+        assertMaxStatements(10, put("/api/articles/" + article.getId())
+                .header("Authorization", "Bearer " + authorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(articleJson("Updated under budget", tagIds(tags.subList(0, 2)))));
+    }
+
+    @Test
+    void deleteArticle() throws Exception {
+        Article article = ownArticle("Deleted under budget");
+        assertMaxStatements(5, delete("/api/articles/" + article.getId())
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    @Test
+    void uploadFeaturedImage() throws Exception {
+        Article article = ownArticle("Illustrated under budget");
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        assertMaxStatements(5, multipart(HttpMethod.POST, "/api/articles/" + article.getId() + "/image")
+                .file(file)
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    @Test
+    void serveImage() throws Exception {
+        Article article = ownArticle("Served under budget");
+        MockMultipartFile file = new MockMultipartFile("file", "served.png", "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', 1});
+        mvc.perform(multipart(HttpMethod.POST, "/api/articles/" + article.getId() + "/image")
+                .file(file)
+                .header("Authorization", "Bearer " + authorToken));
+        String stored = articleRepository.findById(article.getId()).orElseThrow().getFeaturedImage();
+
+        // Served from disk only
+        assertMaxStatements(0, get("/api/images/" + stored));
+        assertMaxStatements(0, get("/api/images/" + stored).header("Range", "bytes=1-2"));
+    }
+
+    // ========== COMMENTS ==========
+
+    @Test
+    void commentsByArticle() throws Exception {
+        assertMaxStatements(2, get("/api/articles/" + articles.get(0).getId() + "/comments").param("size", "10"));
+    }
+
+    @Test
+    void commentFeed() throws Exception {
+        assertMaxStatements(2, get("/api/articles/" + articles.get(0).getId() + "/comments/feed").param("size", "10"));
+    }
+
+    @Test
+    void createComment() throws Exception {
+        assertMaxStatements(3, post("/api/articles/" + articles.get(2).getId() + "/comments")
+                .header("Authorization", "Bearer " + authorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"Well within budget\"}"));
+    }
+
+    @Test
+    void updateComment() throws Exception {
+        Comment comment = ownComment();
+        assertMaxStatements(2, put("/api/comments/" + comment.getId())
+                .header("Authorization", "Bearer " + authorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"Edited within budget\"}"));
+    }
+
+    @Test
+    void deleteComment() throws Exception {
+        Comment comment = ownComment();
+        assertMaxStatements(3, delete("/api/comments/" + comment.getId())
+                .header("Authorization", "Bearer " + authorToken));
+    }
+
+    // ========== CATEGORIES & TAGS ==========
+
+    @Test
+    void listCategories() throws Exception {
+        // Version query, then the list
+        assertMaxStatements(2, get("/api/categories"));
+
+        // Repeat reads come from the second-level query and entity caches
+        assertMaxStatements(0, get("/api/categories"));
+    }
+
+    @Test
+    void listCategoriesNotModified() throws Exception {
+        String etag = mvc.perform(get("/api/categories")).andReturn().getResponse().getHeader("ETag");
+        mvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Versioned\"}"));
+
+        // The new row moved the version: one aggregate query, then the list
+        assertMaxStatements(2, get("/api/categories").header("If-None-Match", etag));
+        etag = mvc.perform(get("/api/categories")).andReturn().getResponse().getHeader("ETag");
+        assertNotModified(0, get("/api/categories").header("If-None-Match", etag));
+    }
+
+    @Test
+    void categoryById() throws Exception {
+        assertMaxStatements(1, get("/api/categories/" + category.getId()));
+        assertMaxStatements(0, get("/api/categories/" + category.getId()));
+    }
+
+    @Test
+    void createUpdateDeleteCategory() throws Exception {
+        assertMaxStatements(2, post("/api/categories")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Budgeting\",\"description\":\"Counting queries\"}"));
+        Long id = categoryRepository.findBySlug("budgeting").orElseThrow().getId();
+
+        assertMaxStatements(2, put("/api/categories/" + id)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Budgets\",\"description\":\"Counting queries\"}"));
+
+        assertMaxStatements(3, delete("/api/categories/" + id)
+                .header("Authorization", "Bearer " + adminToken));
+    }
+
+    @Test
+    void listTags() throws Exception {
+        assertMaxStatements(2, get("/api/tags"));
+        assertMaxStatements(0, get("/api/tags"));
+    }
+
+    @Test
+    void listTagsNotModifiedSince() throws Exception {
+        String lastModified = mvc.perform(get("/api/tags")).andReturn().getResponse().getHeader("Last-Modified");
+        assertNotModified(0, get("/api/tags").header("If-Modified-Since", lastModified));
+    }
+
+    @Test
+    void tagById() throws Exception {
+        assertMaxStatements(1, get("/api/tags/" + tags.get(0).getId()));
+        assertMaxStatements(0, get("/api/tags/" + tags.get(0).getId()));
+    }
+
+    @Test
+    void createDeleteTag() throws Exception {
+        assertMaxStatements(2, post("/api/tags")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Budget tag\"}"));
+        Long id = tagRepository.findBySlug("budget-tag").orElseThrow().getId();
+
+        assertMaxStatements(3, delete("/api/tags/" + id)
+                .header("Authorization", "Bearer " + adminToken));
+    }
+
+    // ========== AUTH & ADMIN ==========
+
+    @Test
+    void registerAndLogin() throws Exception {
+        assertMaxStatements(3, post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"newbie\",\"email\":\"newbie@example.com\",\"password\":\"secret123\",\"fullName\":\"New Bie\"}"));
+
+        assertMaxStatements(1, post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"newbie\",\"password\":\"secret123\"}"));
+    }
+
+    @Test
+    void cacheStats() throws Exception {
+        assertMaxStatements(0, get("/api/admin/cache-stats")
+                .header("Authorization", "Bearer " + adminToken));
+        assertMaxStatements(0, get("/api/admin/cache-stats/second-level")
+                .header("Authorization", "Bearer " + adminToken));
+    }
+
+    // ========== HELPERS ==========
+
+    private void assertMaxStatements(int max, MockHttpServletRequestBuilder request) throws Exception {
+        RecordingStatementInspector.reset();
+        mvc.perform(request).andExpect(status().is2xxSuccessful());
+        List<String> statements = RecordingStatementInspector.statements();
+
+        String described = request.buildRequest(null).getMethod() + " " + request.buildRequest(null).getRequestURI();
+        assertThat(statements)
+                .as("SQL statements for %s:%n%s", described, String.join("\n", statements))
+                .hasSizeLessThanOrEqualTo(max);
+    }
+
+    private void assertNotModified(int max, MockHttpServletRequestBuilder request) throws Exception {
+        RecordingStatementInspector.reset();
+        mvc.perform(request).andExpect(status().isNotModified());
+        assertThat(RecordingStatementInspector.statements())
+                .as("SQL statements for a 304:%n%s", String.join("\n", RecordingStatementInspector.statements()))
+                .hasSizeLessThanOrEqualTo(max);
+    }
+
+    private User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("not-used");
+        user.setFullName(username.substring(0, 1).toUpperCase() + username.substring(1) + " Example");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Article ownArticle(String title) {
+        Article article = new Article();
+        article.setTitle(title);
+        article.setSlug(title.toLowerCase().replace(' ', '-'));
+        article.setContent(CONTENT);
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setAuthor(author);
+        article.setCategory(category);
+        return articleRepository.save(article);
+    }
+
+    private Comment ownComment() {
+        Comment comment = new Comment();
+        comment.setArticle(articles.get(3));
+        comment.setUser(author);
+        comment.setContent("Mine to change");
+        return commentRepository.save(comment);
+    }
+
+    private static Set<Long> tagIds(List<Tag> tags) {
+        Set<Long> ids = new HashSet<>();
+        tags.forEach(tag -> ids.add(tag.getId()));
+        return ids;
+    }
+
+    private String articleJson(String title, Set<Long> tagIds) {
+        return "{\"title\":\"" + title + "\",\"content\":\"" + CONTENT + "\",\"categoryId\":" + category.getId() + ","
+                + "\"status\":\"PUBLISHED\",\"tagIds\":" + tagIds + "}";
+    }
+}
@@ -0,0 +1,154 @@
+package com.jayaa.blog.image;
+
+import com.jayaa.blog.model.*;
+import com.jayaa.blog.repository.ArticleRepository;
+import com.jayaa.blog.repository.ImageJobRepository;
+import com.jayaa.blog.repository.UserRepository;
+import com.jayaa.blog.security.JwtUtil;
+import com.jayaa.blog.service.UploadCleanupService;
+import com.jayaa.blog.util.FileStorageUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Featured image lifecycle end to end: an upload queues a variant job that
+ * writes the downscaled copies and records their widths, and once the image
+ * is replaced the upload sweep removes the old blob together with its
+ * variants while keeping the new one.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FeaturedImageFlowTest {
+
+    private static final Duration JOB_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ImageJobRepository imageJobRepository;
+
+    @Autowired
+    private UploadCleanupService uploadCleanupService;
+
+    @Autowired
+    private FileStorageUtil fileStorageUtil;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void variantsAreGeneratedAndSweptWithTheirSource() throws Exception {
+        User author = new User();
+        author.setUsername("illustrator");
+        author.setEmail("illustrator@example.com");
+        author.setPassword("not-used");
+        author.setFullName("Illustrator Example");
+        author.setRole("ROLE_AUTHOR");
+        userRepository.save(author);
+        String token = jwtUtil.generateToken(author);
+
+        Article article = new Article();
+        article.setTitle("Illustrated article");
+        article.setSlug("illustrated-article");
+        article.setContent("Pictures first.");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setAuthor(author);
+        articleRepository.save(article);
+
+        // Wider than every variant, so all three are generated
+        String first = upload(article, token, image(1600, 1200), "wide.png");
+        awaitJobs(article);
+        assertThat(articleRepository.findById(article.getId()).orElseThrow().getFeaturedImageVariants())
+                .isEqualTo("320,768,1280");
+        List<Path> firstBlobs = new ArrayList<>();
+        firstBlobs.add(blob(first));
+        for (int width : List.of(320, 768, 1280)) {
+            firstBlobs.add(blob(ImageVariants.variantName(first, width)));
+        }
+        assertThat(firstBlobs).allMatch(Files::isRegularFile);
+
+        // Narrower than every variant: nothing to generate, nothing recorded
+        String second = upload(article, token, image(200, 150), "small.png");
+        awaitJobs(article);
+        assertThat(articleRepository.findById(article.getId()).orElseThrow().getFeaturedImageVariants())
+                .isEmpty();
+
+        // Past the grace period, the replaced image and its variants are unreferenced
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        for (Path file : firstBlobs) {
+            Files.setLastModifiedTime(file, old);
+        }
+        Files.setLastModifiedTime(blob(second), old);
+        uploadCleanupService.sweep();
+
+        assertThat(firstBlobs).noneMatch(Files::exists);
+        assertThat(blob(second)).isRegularFile();
+    }
+
+    private String upload(Article article, String token, byte[] png, String name) throws Exception {
+        mvc.perform(multipart(HttpMethod.POST, "/api/articles/" + article.getId() + "/image")
+                        .file(new MockMultipartFile("file", name, "image/png", png))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return articleRepository.findById(article.getId()).orElseThrow().getFeaturedImage();
+    }
+
+    // Jobs start on commit on the worker pool; wait for this article's to settle
+    private void awaitJobs(Article article) throws InterruptedException {
+        Instant deadline = Instant.now().plus(JOB_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            List<ImageJob> jobs = imageJobRepository.findAll().stream()
+                    .filter(job -> job.getArticleId().equals(article.getId()))
+                    .toList();
+            if (jobs.stream().allMatch(job -> job.getStatus() == ImageJobStatus.DONE)) {
+                return;
+            }
+            assertThat(jobs).noneMatch(job -> job.getStatus() == ImageJobStatus.FAILED);
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Image jobs for article " + article.getId() + " did not finish in " + JOB_TIMEOUT);
+    }
+
+    private Path blob(String filename) {
+        return fileStorageUtil.getUploadPath().resolve(filename);
+    }
+
+    private static byte[] image(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
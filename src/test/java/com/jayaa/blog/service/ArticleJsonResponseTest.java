@@ -0,0 +1,194 @@
+package com.jayaa.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayaa.blog.cache.ArticleBodyStore;
+import com.jayaa.blog.cache.ArticleResponseCache;
+import com.jayaa.blog.model.*;
+import com.jayaa.blog.repository.*;
+import com.jayaa.blog.security.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List and detail responses are assembled from pre-encoded fragments, with
+ * the body spliced in from ArticleBodyStore; they must parse to exactly what
+ * plain Jackson makes of the DTO built from the entity. Requests carry a
+ * token so the public response cache doesn't answer them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleJsonResponseTest {
+
+    // Quotes, escapes, markup, non-ASCII and a surrogate pair, long enough to span several body blocks
+    private static final String CONTENT =
+            "He said \"fragments\" \\ spliced\nby hand </script> naïve café 漢字 🚀\t".repeat(120);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleResponseCache articleResponseCache;
+
+    @Autowired
+    private ArticleBodyStore articleBodyStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+    private Article article;
+
+    @BeforeAll
+    void seed() {
+        User author = new User();
+        author.setUsername("encoder");
+        author.setEmail("encoder@example.com");
+        author.setPassword("not-used");
+        author.setFullName("Encoder \"Quoted\" Example");
+        author.setRole("ROLE_AUTHOR");
+        userRepository.save(author);
+        token = jwtUtil.generateToken(author);
+
+        Category category = new Category();
+        category.setName("Encoding & Escaping");
+        category.setSlug("encoding-escaping");
+        categoryRepository.save(category);
+
+        List<Tag> tags = new ArrayList<>();
+        for (String name : List.of("JSON", "UTF-8 ✓")) {
+            Tag tag = new Tag();
+            tag.setName(name);
+            tag.setSlug("encoding-" + tags.size());
+            tags.add(tagRepository.save(tag));
+        }
+
+        article = new Article();
+        article.setTitle("Spliced \"JSON\" — does it parse?");
+        article.setSlug("spliced-json-does-it-parse");
+        article.setContent(CONTENT);
+        article.setExcerpt("Line one\nline two");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setAuthor(author);
+        article.setCategory(category);
+        article.setTags(new HashSet<>(tags));
+        article.setCommentCount(2);
+        articleRepository.save(article);
+    }
+
+    @Test
+    void listEntryMatchesTheSummaryDto() throws Exception {
+        JsonNode page = read("/api/articles?size=50");
+        JsonNode entry = null;
+        for (JsonNode candidate : page.get("content")) {
+            if (candidate.get("id").asLong() == article.getId()) {
+                entry = candidate;
+            }
+        }
+        assertThat(entry).as("article %d on the first page", article.getId()).isNotNull();
+
+        ObjectNode expected = expected();
+        expected.remove("content");
+        assertThat(normalized(entry)).isEqualTo(normalized(expected));
+    }
+
+    @Test
+    void detailMatchesTheDtoWhetherTheBodyIsStoredOrNot() throws Exception {
+        String url = "/api/articles/slug/" + article.getSlug();
+        articleResponseCache.invalidate(article.getSlug());
+
+        // Loading the response stores the body, so this is already a body store hit
+        JsonNode loaded = read(url);
+        assertThat(normalized(loaded)).isEqualTo(normalized(expected()));
+        assertThat(articleBodyStore.digest(article.getId(), reload().getUpdatedAt())).isNotNull();
+
+        // Cached response, body evicted: streamed from the database instead
+        articleBodyStore.invalidate(article.getId());
+        JsonNode evicted = read(url);
+        assertThat(normalized(evicted)).isEqualTo(normalized(expected()));
+        assertThat(evicted.get("content").asText()).isEqualTo(CONTENT);
+
+        // ...and stored again for the next read
+        JsonNode hit = read(url);
+        assertThat(normalized(hit)).isEqualTo(normalized(expected()));
+    }
+
+    private JsonNode read(String url) throws Exception {
+        byte[] body = mvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        // Strict parse of the raw bytes: a missing comma, a missing or extra brace fails here
+        return objectMapper.reader()
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+                .readTree(new String(body, StandardCharsets.UTF_8));
+    }
+
+    // What plain Jackson writes for the entity, with the live view count at this moment, read back the same way
+    private ObjectNode expected() throws Exception {
+        String json = transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsString(articleService.convertToResponse(reload()));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+
+    private Article reload() {
+        return articleRepository.findById(article.getId()).orElseThrow();
+    }
+
+    // Tags are a set; compare them in id order
+    private static JsonNode normalized(JsonNode node) {
+        ObjectNode copy = node.deepCopy();
+        List<JsonNode> tags = new ArrayList<>();
+        copy.withArray("tags").forEach(tags::add);
+        tags.sort(Comparator.comparingLong(tag -> tag.get("id").asLong()));
+        ArrayNode sorted = copy.putArray("tags");
+        tags.forEach(sorted::add);
+        return copy;
+    }
+}
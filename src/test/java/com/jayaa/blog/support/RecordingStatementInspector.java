@@ -0,0 +1,32 @@
+package com.jayaa.blog.support;
+
+import com.jayaa.blog.metrics.SqlStatementCounter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL statement Hibernate prepares on the current thread.
+ * MockMvc runs the whole request (filters, controller, after-commit
+ * listeners) on the test thread, so the statements seen between
+ * {@link #reset()} and {@link #statements()} are exactly those of one request.
+ * Registered through hibernate.session_factory.statement_inspector in
+ * application-test.yml, replacing the production counter it extends.
+ */
+public class RecordingStatementInspector extends SqlStatementCounter {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return super.inspect(sql);
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
@@ -0,0 +1,97 @@
+package com.jayaa.blog.util;
+
+import org.junit.jupiter.api.Test;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test: the single-pass generator must return exactly what the
+ * original regex pipeline returned, for every code point and for a large
+ * random corpus of mixed-script titles.
+ */
+class SlugUtilTest {
+
+    private final SlugUtil slugUtil = new SlugUtil();
+
+    // The implementation SlugUtil.generateSlug replaced, kept verbatim as the oracle
+    private static String legacySlug(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        String slug = Normalizer.normalize(input.toLowerCase(Locale.ENGLISH), Normalizer.Form.NFD);
+        slug = slug.replaceAll("\\p{M}", "");
+        slug = slug.replaceAll("[\\s]", "-");
+        slug = slug.replaceAll("[^\\w-]", "");
+        slug = slug.replaceAll("-+", "-");
+        slug = slug.replaceAll("^-|-$", "");
+        return slug;
+    }
+
+    @Test
+    void matchesLegacyForHandPickedTitles() {
+        List<String> titles = List.of(
+                "", " ", "-", "--", " - ", "Hello World", "  Hello   World  ", "Hello---World",
+                "-leading and trailing-", "snake_case_title", "Tabs\tand\nnewlines\r\f\u000B",
+                "Café Crème Brûlée", "Über straße", "ŁÓDŹ", "İstanbul", "ΣΊΣΥΦΟΣ", "Ωmega Kelvin K",
+                "Ångström Å", "ﬁne ligature", "ｆｕｌｌｗｉｄｔｈ", "日本語のタイトル", "emoji 🚀 rocket 🎉",
+                "é combining", "́leading mark", "nbsp space", "em space",
+                "a\uD800lone surrogate", "\uDC00", "100% Java & Spring!", "C++ vs. C#", "a.b,c;d:e",
+                "Ǆemal ǅ ǆ", "ﬀ ﬃ", "Ⅻ roman", "①②③", "x²+y²", "Đặng Thị Ngọc Thảo"
+        );
+        for (String title : titles) {
+            assertEquals(legacySlug(title), slugUtil.generateSlug(title), () -> "title: " + escape(title));
+        }
+    }
+
+    @Test
+    void matchesLegacyForEveryCodePoint() {
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            String c = new String(Character.toChars(codePoint));
+            for (String input : new String[]{c, "a" + c + "b", "a " + c + " b"}) {
+                String expected = legacySlug(input);
+                String actual = slugUtil.generateSlug(input);
+                if (!expected.equals(actual)) {
+                    assertEquals(expected, actual, "code point U+" + Integer.toHexString(codePoint));
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesLegacyForRandomMixedScriptTitles() {
+        Random random = new Random(20250301L);
+        int[][] ranges = {
+                {0x20, 0x7E}, {0x20, 0x7E}, {0x20, 0x7E},   // ASCII, weighted up
+                {0x09, 0x0D}, {0xA0, 0xFF}, {0x100, 0x24F}, // whitespace, Latin-1, Latin Extended
+                {0x300, 0x36F}, {0x370, 0x3FF}, {0x400, 0x4FF}, // combining marks, Greek, Cyrillic
+                {0x1E00, 0x1EFF}, {0x2000, 0x206F}, {0x2100, 0x214F}, // Latin Ext. Additional, punctuation, letterlike
+                {0x3040, 0x30FF}, {0x4E00, 0x4FFF}, {0xFF00, 0xFFEF}, // kana, CJK, fullwidth
+                {0x1F300, 0x1F6FF}, {0xD800, 0xDFFF}  // emoji, lone surrogates
+        };
+
+        List<String> corpus = new ArrayList<>();
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder title = new StringBuilder();
+            int length = 1 + random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                int[] range = ranges[random.nextInt(ranges.length)];
+                title.appendCodePoint(range[0] + random.nextInt(range[1] - range[0] + 1));
+            }
+            corpus.add(title.toString());
+        }
+
+        for (String title : corpus) {
+            assertEquals(legacySlug(title), slugUtil.generateSlug(title), () -> "title: " + escape(title));
+        }
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder();
+        s.codePoints().forEach(cp -> sb.append(cp < 0x80 && cp >= 0x20 ? String.valueOf((char) cp) : String.format("\\u{%x}", cp)));
+        return sb.toString();
+    }
+}